@@ -25,7 +25,8 @@ public class SecurityConfig {
                                 "/api/auth/logout",
                                 "/api/auth/user/delete/**",
                                 "/api/auth/user/details",
-                                "/api/auth/users/all" ).permitAll() // public endpoints
+                                "/api/auth/users/all",
+                                "/actuator/health" ).permitAll() // public endpoints
                         .anyRequest().authenticated() // all other endpoints require authentication
                 );
 
@@ -0,0 +1,147 @@
+package com.bookfair.apicontracts.qr;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a QR code straight from its module matrix as a 1-bit grayscale PNG, without building a
+ * BufferedImage or going through ImageIO. The output has the same pixels as
+ * {@code MatrixToImageWriter} for a matrix ZXing renders at the same size: modules are scaled by
+ * the largest whole factor that fits and centered.
+ * <p>
+ * The deflater and buffers are reused between images, so an instance is not thread-safe.
+ */
+public final class QRCodePngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte FILTER_NONE = 0;
+    // Scanline identical to the one above: all filtered bytes are zero
+    private static final byte FILTER_UP = 2;
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final CRC32 crc = new CRC32();
+    private final byte[] header = new byte[13];
+    private final byte[] word = new byte[4];
+    private byte[] row = new byte[0];
+    private byte[] scanlines = new byte[0];
+    private byte[] compressed = new byte[0];
+
+    /**
+     * Write the QR code as a PNG of the given size.
+     *
+     * @param modules one bit per module, quiet zone included (ZXing encode with width and height 0)
+     */
+    public void write(BitMatrix modules, int width, int height, OutputStream out) throws IOException {
+        int matrixWidth = modules.getWidth();
+        int matrixHeight = modules.getHeight();
+        int outputWidth = Math.max(width, matrixWidth);
+        int outputHeight = Math.max(height, matrixHeight);
+        int scale = Math.min(outputWidth / matrixWidth, outputHeight / matrixHeight);
+        int left = (outputWidth - matrixWidth * scale) / 2;
+        int top = (outputHeight - matrixHeight * scale) / 2;
+
+        int rowBytes = (outputWidth + 7) / 8;
+        int stride = rowBytes + 1;
+        int rawLength = stride * outputHeight;
+        if (row.length < rowBytes) {
+            row = new byte[rowBytes];
+        }
+        if (scanlines.length < rawLength) {
+            scanlines = new byte[rawLength];
+        }
+
+        int previousModuleRow = -2;
+        for (int y = 0; y < outputHeight; y++) {
+            int offset = y * stride;
+            int moduleRow = y >= top && y < top + matrixHeight * scale ? (y - top) / scale : -1;
+            if (moduleRow == previousModuleRow) {
+                scanlines[offset] = FILTER_UP;
+                Arrays.fill(scanlines, offset + 1, offset + stride, (byte) 0);
+                continue;
+            }
+            previousModuleRow = moduleRow;
+            packRow(modules, moduleRow, matrixWidth, scale, left, rowBytes);
+            scanlines[offset] = FILTER_NONE;
+            System.arraycopy(row, 0, scanlines, offset + 1, rowBytes);
+        }
+
+        int compressedLength = deflate(rawLength);
+
+        out.write(SIGNATURE);
+        writeInt(header, 0, outputWidth);
+        writeInt(header, 4, outputHeight);
+        header[8] = 1;   // bit depth
+        header[9] = 0;   // grayscale
+        header[10] = 0;  // deflate
+        header[11] = 0;  // adaptive filtering
+        header[12] = 0;  // no interlace
+        writeChunk(out, IHDR, header, 13);
+        writeChunk(out, IDAT, compressed, compressedLength);
+        writeChunk(out, IEND, compressed, 0);
+    }
+
+    /**
+     * Pack one pixel row into {@link #row}; bit set = white
+     */
+    private void packRow(BitMatrix modules, int moduleRow, int matrixWidth, int scale, int left, int rowBytes) {
+        Arrays.fill(row, 0, rowBytes, (byte) 0xFF);
+        if (moduleRow < 0) {
+            return;
+        }
+        for (int moduleX = 0; moduleX < matrixWidth; moduleX++) {
+            if (!modules.get(moduleX, moduleRow)) {
+                continue;
+            }
+            int from = left + moduleX * scale;
+            for (int x = from; x < from + scale; x++) {
+                row[x >>> 3] &= (byte) ~(0x80 >>> (x & 7));
+            }
+        }
+    }
+
+    private int deflate(int rawLength) {
+        deflater.reset();
+        deflater.setInput(scanlines, 0, rawLength);
+        deflater.finish();
+        if (compressed.length == 0) {
+            compressed = new byte[Math.max(1024, rawLength / 4)];
+        }
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return length;
+    }
+
+    private void writeChunk(OutputStream out, byte[] type, byte[] data, int length) throws IOException {
+        writeInt(word, 0, length);
+        out.write(word);
+        out.write(type);
+        out.write(data, 0, length);
+        crc.reset();
+        crc.update(type);
+        crc.update(data, 0, length);
+        writeInt(word, 0, (int) crc.getValue());
+        out.write(word);
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookfair.apicontracts.qr;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Contents of a signed reservation QR pass
+ */
+public record QRPass(
+        String keyId,
+        long reservationId,
+        long userId,
+        List<String> stallIds,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+
+    /**
+     * Whether the pass admits entry on the given day
+     */
+    public boolean isValidOn(LocalDate day) {
+        return !day.isBefore(startDate) && !day.isAfter(endDate);
+    }
+}
@@ -0,0 +1,146 @@
+package com.bookfair.apicontracts.qr;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline verifier for signed reservation QR passes, for the entry gate app.
+ * <p>
+ * Pass format (as issued by reservation-management-service):
+ * <pre>
+ * BF2.&lt;base64url(body)&gt;.&lt;base64url(first 16 bytes of HMAC-SHA256(key, "BF2." + base64url(body)))&gt;
+ * body = keyId|reservationId|userId|stallId,stallId,...|startDate|endDate
+ * </pre>
+ * Verification needs only the signing keys and a {@link RevocationSet} synced periodically from
+ * {@code GET /api/reservations/gate/revocations}. Instances are thread-safe; each verification
+ * is one HMAC over about a hundred bytes, so a single core handles many thousands of scans per second.
+ */
+public final class QRPassVerifier {
+
+    public static final String PREFIX = "BF2.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 16;
+
+    public enum Status {
+        VALID,
+        MALFORMED,
+        UNKNOWN_KEY,
+        BAD_SIGNATURE,
+        REVOKED,
+        NOT_VALID_TODAY
+    }
+
+    /**
+     * Outcome of a scan; the pass is set whenever the signature was valid
+     */
+    public record Result(Status status, QRPass pass) {
+
+        public boolean isValid() {
+            return status == Status.VALID;
+        }
+    }
+
+    private final Map<String, SecretKeySpec> keys = new HashMap<>();
+    private final ThreadLocal<Map<String, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
+    private volatile RevocationSet revocations = RevocationSet.empty();
+
+    /**
+     * @param keys signing secrets by key ID, as configured in reservation.qr.signing-keys
+     */
+    public QRPassVerifier(Map<String, String> keys) {
+        keys.forEach((keyId, secret) ->
+                this.keys.put(keyId, new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM)));
+    }
+
+    /**
+     * Replace the revocation set after a sync
+     */
+    public void setRevocations(RevocationSet revocations) {
+        this.revocations = revocations;
+    }
+
+    public RevocationSet getRevocations() {
+        return revocations;
+    }
+
+    /**
+     * Verify a scanned QR text for entry on the given day
+     */
+    public Result verify(String qrText, LocalDate today) {
+        int separator = qrText != null ? qrText.lastIndexOf('.') : -1;
+        if (qrText == null || !qrText.startsWith(PREFIX) || separator <= PREFIX.length()) {
+            return new Result(Status.MALFORMED, null);
+        }
+
+        String signed = qrText.substring(0, separator);
+        String[] fields;
+        byte[] signature;
+        try {
+            fields = new String(Base64.getUrlDecoder().decode(signed.substring(PREFIX.length())),
+                    StandardCharsets.UTF_8).split("\\|", -1);
+            signature = Base64.getUrlDecoder().decode(qrText.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return new Result(Status.MALFORMED, null);
+        }
+        if (fields.length != 6) {
+            return new Result(Status.MALFORMED, null);
+        }
+
+        Mac mac = mac(fields[0]);
+        if (mac == null) {
+            return new Result(Status.UNKNOWN_KEY, null);
+        }
+        byte[] expected = Arrays.copyOf(mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII)), MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, signature)) {
+            return new Result(Status.BAD_SIGNATURE, null);
+        }
+
+        QRPass pass;
+        try {
+            pass = new QRPass(
+                    fields[0],
+                    Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]),
+                    fields[3].isEmpty() ? List.of() : List.of(fields[3].split(",")),
+                    LocalDate.parse(fields[4]),
+                    LocalDate.parse(fields[5])
+            );
+        } catch (RuntimeException e) {
+            return new Result(Status.MALFORMED, null);
+        }
+
+        if (revocations.contains(pass.reservationId())) {
+            return new Result(Status.REVOKED, pass);
+        }
+        if (!pass.isValidOn(today)) {
+            return new Result(Status.NOT_VALID_TODAY, pass);
+        }
+        return new Result(Status.VALID, pass);
+    }
+
+    private Mac mac(String keyId) {
+        SecretKeySpec key = keys.get(keyId);
+        if (key == null) {
+            return null;
+        }
+        return macs.get().computeIfAbsent(keyId, id -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 not available", e);
+            }
+        });
+    }
+}
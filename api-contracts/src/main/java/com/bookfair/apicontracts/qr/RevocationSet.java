@@ -0,0 +1,67 @@
+package com.bookfair.apicontracts.qr;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of revoked reservation IDs, stored as a sorted long array (8 bytes per ID) and
+ * looked up by binary search. Deltas from the revocations endpoint are merged into a new set.
+ */
+public final class RevocationSet {
+
+    private static final RevocationSet EMPTY = new RevocationSet(new long[0], 0);
+
+    private final long[] ids;
+    private final long version;
+
+    private RevocationSet(long[] ids, long version) {
+        this.ids = ids;
+        this.version = version;
+    }
+
+    public static RevocationSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * A set holding exactly the given IDs (a full sync)
+     */
+    public static RevocationSet of(Collection<Long> ids, long version) {
+        return EMPTY.merge(ids, version);
+    }
+
+    /**
+     * A set holding these IDs and the given ones (a delta sync)
+     */
+    public RevocationSet merge(Collection<Long> added, long newVersion) {
+        long[] merged = Arrays.copyOf(ids, ids.length + added.size());
+        int length = ids.length;
+        for (Long id : added) {
+            merged[length++] = id;
+        }
+        Arrays.sort(merged);
+
+        int unique = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (unique == 0 || merged[i] != merged[unique - 1]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return new RevocationSet(Arrays.copyOf(merged, unique), Math.max(version, newVersion));
+    }
+
+    public boolean contains(long reservationId) {
+        return Arrays.binarySearch(ids, reservationId) >= 0;
+    }
+
+    /**
+     * Version to send as "since" on the next sync
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
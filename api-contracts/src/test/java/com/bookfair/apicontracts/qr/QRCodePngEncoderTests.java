@@ -0,0 +1,50 @@
+package com.bookfair.apicontracts.qr;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QRCodePngEncoderTests {
+
+    private final QRCodeWriter writer = new QRCodeWriter();
+    private final QRCodePngEncoder encoder = new QRCodePngEncoder();
+
+    @Test
+    void matchesMatrixToImageWriterPixels() throws Exception {
+        assertSamePixels("BOOKFAIR-2026-RES-1-USER-1-1a2b3c4d", Map.of(), 300, 300);
+        assertSamePixels("BOOKFAIR-2026-RES-123456789-USER-42-deadbeef", Map.of(), 300, 300);
+        // Notification service settings, and a size that does not divide evenly
+        assertSamePixels("BOOKFAIR_RESERVATION|ID:7|USER:3|NAME:Acme Books|DATE:2026-03-15T10:00",
+                Map.of(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H, EncodeHintType.MARGIN, 1), 301, 257);
+    }
+
+    private void assertSamePixels(String text, Map<EncodeHintType, ?> hints, int width, int height) throws Exception {
+        BufferedImage expected = MatrixToImageWriter.toBufferedImage(
+                writer.encode(text, BarcodeFormat.QR_CODE, width, height, hints));
+
+        BitMatrix modules = writer.encode(text, BarcodeFormat.QR_CODE, 0, 0, hints);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.write(modules, width, height, out);
+        BufferedImage actual = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y + " of " + text);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bookfair.apicontracts.qr;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QRPassVerifierTests {
+
+    private static final LocalDate START = LocalDate.of(2026, 3, 15);
+    private static final LocalDate END = LocalDate.of(2026, 3, 17);
+
+    private final QRPassVerifier verifier = new QRPassVerifier(Map.of("k1", "first-secret"));
+
+    @Test
+    void signedPassVerifies() {
+        String qrText = sign("first-secret", "k1|42|7|A1,B2|2026-03-15|2026-03-17");
+
+        QRPassVerifier.Result result = verifier.verify(qrText, START.plusDays(1));
+
+        assertTrue(result.isValid());
+        assertEquals(new QRPass("k1", 42, 7, List.of("A1", "B2"), START, END), result.pass());
+    }
+
+    @Test
+    void tamperedBodyFailsSignature() {
+        String qrText = sign("first-secret", "k1|42|7|A1|2026-03-15|2026-03-17");
+        String[] parts = qrText.split("\\.");
+        String otherBody = encode("k1|43|7|A1|2026-03-15|2026-03-17".getBytes(StandardCharsets.UTF_8));
+
+        QRPassVerifier.Result result = verifier.verify(parts[0] + "." + otherBody + "." + parts[2], START);
+
+        assertEquals(QRPassVerifier.Status.BAD_SIGNATURE, result.status());
+        assertNull(result.pass());
+    }
+
+    @Test
+    void tamperedMacFailsSignature() {
+        String qrText = sign("first-secret", "k1|42|7|A1|2026-03-15|2026-03-17");
+        byte[] mac = Base64.getUrlDecoder().decode(qrText.substring(qrText.lastIndexOf('.') + 1));
+        mac[0] ^= 1;
+
+        QRPassVerifier.Result result = verifier.verify(
+                qrText.substring(0, qrText.lastIndexOf('.') + 1) + encode(mac), START);
+
+        assertEquals(QRPassVerifier.Status.BAD_SIGNATURE, result.status());
+    }
+
+    @Test
+    void passSignedWithUnknownKeyIsRejected() {
+        String qrText = sign("other-secret", "k9|42|7|A1|2026-03-15|2026-03-17");
+
+        assertEquals(QRPassVerifier.Status.UNKNOWN_KEY, verifier.verify(qrText, START).status());
+    }
+
+    @Test
+    void passesSignedWithRetiredKeyStillVerifyAfterRotation() {
+        QRPassVerifier rotated = new QRPassVerifier(Map.of("k2", "second-secret", "k1", "first-secret"));
+
+        String oldPass = sign("first-secret", "k1|42|7|A1|2026-03-15|2026-03-17");
+        String newPass = sign("second-secret", "k2|43|7|A2|2026-03-15|2026-03-17");
+
+        assertTrue(rotated.verify(oldPass, START).isValid());
+        assertTrue(rotated.verify(newPass, START).isValid());
+        // The same key ID with another secret is a forgery, not a rotation
+        assertEquals(QRPassVerifier.Status.BAD_SIGNATURE,
+                rotated.verify(sign("first-secret", "k2|44|7|A3|2026-03-15|2026-03-17"), START).status());
+    }
+
+    @Test
+    void malformedTextIsRejected() {
+        String qrText = sign("first-secret", "k1|42|7|A1|2026-03-15|2026-03-17");
+
+        assertEquals(QRPassVerifier.Status.MALFORMED, verifier.verify(null, START).status());
+        assertEquals(QRPassVerifier.Status.MALFORMED, verifier.verify("QR-42", START).status());
+        assertEquals(QRPassVerifier.Status.MALFORMED, verifier.verify("BF2.", START).status());
+        assertEquals(QRPassVerifier.Status.MALFORMED,
+                verifier.verify(qrText.substring(0, qrText.lastIndexOf('.') + 1) + "not*base64", START).status());
+        assertEquals(QRPassVerifier.Status.MALFORMED, verifier.verify("BF2.%%%." + "AAAA", START).status());
+        assertEquals(QRPassVerifier.Status.MALFORMED,
+                verifier.verify(sign("first-secret", "k1|42|7|A1|2026-03-15"), START).status());
+        assertEquals(QRPassVerifier.Status.MALFORMED,
+                verifier.verify(sign("first-secret", "k1|x|7|A1|2026-03-15|2026-03-17"), START).status());
+    }
+
+    @Test
+    void revokedPassIsRejectedWithItsContents() {
+        verifier.setRevocations(RevocationSet.of(List.of(42L), 1));
+
+        QRPassVerifier.Result result = verifier.verify(
+                sign("first-secret", "k1|42|7|A1|2026-03-15|2026-03-17"), START);
+
+        assertEquals(QRPassVerifier.Status.REVOKED, result.status());
+        assertEquals(42, result.pass().reservationId());
+    }
+
+    @Test
+    void passIsOnlyValidOnItsDays() {
+        String qrText = sign("first-secret", "k1|42|7|A1|2026-03-15|2026-03-17");
+
+        assertTrue(verifier.verify(qrText, START).isValid());
+        assertTrue(verifier.verify(qrText, END).isValid());
+        assertEquals(QRPassVerifier.Status.NOT_VALID_TODAY, verifier.verify(qrText, START.minusDays(1)).status());
+        assertEquals(QRPassVerifier.Status.NOT_VALID_TODAY, verifier.verify(qrText, END.plusDays(1)).status());
+    }
+
+    /**
+     * Sign a pass body the way reservation service's QRPassCodec does
+     */
+    private static String sign(String secret, String body) {
+        String signed = QRPassVerifier.PREFIX + encode(body.getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return signed + "." + encode(Arrays.copyOf(mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII)), 16));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookfair.apicontracts.qr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationSetTests {
+
+    @Test
+    void fullSyncHoldsExactlyTheGivenIds() {
+        RevocationSet set = RevocationSet.of(List.of(30L, 10L, 20L), 5);
+
+        assertEquals(3, set.size());
+        assertEquals(5, set.version());
+        assertTrue(set.contains(10));
+        assertTrue(set.contains(20));
+        assertTrue(set.contains(30));
+        assertFalse(set.contains(15));
+        assertFalse(RevocationSet.empty().contains(10));
+    }
+
+    @Test
+    void deltaIsMergedWithoutDuplicates() {
+        RevocationSet first = RevocationSet.of(List.of(10L, 20L, 20L), 5);
+        RevocationSet merged = first.merge(List.of(20L, 5L, 40L, 5L), 8);
+
+        assertEquals(2, first.size());
+        assertEquals(4, merged.size());
+        for (long id : new long[]{5, 10, 20, 40}) {
+            assertTrue(merged.contains(id));
+        }
+        // The old set is unchanged, so scans in flight keep a consistent view
+        assertFalse(first.contains(40));
+    }
+
+    @Test
+    void versionNeverGoesBack() {
+        RevocationSet set = RevocationSet.of(List.of(10L), 8);
+
+        assertEquals(8, set.merge(List.of(), 3).version());
+        assertEquals(9, set.merge(List.of(), 9).version());
+        assertEquals(1, set.merge(List.of(), 9).size());
+    }
+}
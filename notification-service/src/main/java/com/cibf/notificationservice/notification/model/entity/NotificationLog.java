@@ -10,7 +10,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notification_logs")
+@Table(name = "notification_logs", indexes = {
+        @Index(name = "idx_notification_logs_email_created_at", columnList = "recipient_email, created_at"),
+        @Index(name = "idx_notification_logs_status_type", columnList = "status, notification_type"),
+        @Index(name = "idx_notification_logs_type_status", columnList = "notification_type, status"),
+        @Index(name = "idx_notification_logs_created_at", columnList = "created_at"),
+        @Index(name = "idx_notification_logs_reference_id", columnList = "reference_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
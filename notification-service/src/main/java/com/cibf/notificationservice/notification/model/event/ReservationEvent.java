@@ -39,6 +39,17 @@ public class ReservationEvent {
     @JsonProperty("total_amount")
     private Double totalAmount;
 
+    // Signed entry pass text issued by reservation service; the QR image must encode it unchanged
+    @JsonProperty("qr_code")
+    private String qrCode;
+
+    // ISO dates (yyyy-MM-dd), kept as text for the Gson handler
+    @JsonProperty("start_date")
+    private String startDate;
+
+    @JsonProperty("end_date")
+    private String endDate;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -44,6 +44,8 @@ public class EmailService {
             context.setVariable("reservationId", event.getReservationId());
             context.setVariable("stalls", event.getStalls());
             context.setVariable("reservationDate", event.getReservationDate());
+            context.setVariable("startDate", event.getStartDate());
+            context.setVariable("endDate", event.getEndDate());
             context.setVariable("qrCode", "data:image/png;base64," + qrCodeBase64);
 
             String htmlContent = templateEngine.process("reservation-confirmation", context);
@@ -44,12 +44,11 @@ public class NotificationService {
 
         try {
 
-            String qrData = qrCodeService.generateReservationQRData(
-                    event.getReservationId(),
-                    event.getUserId(),
-                    event.getUserName()
-            );
-            String qrCodeBase64 = qrCodeService.generateQRCodeBase64(qrData);
+            // The gates verify the signed pass, so the image carries the reservation's own QR text
+            if (event.getQrCode() == null || event.getQrCode().isEmpty()) {
+                throw new IllegalStateException("Reservation event has no QR code");
+            }
+            String qrCodeBase64 = qrCodeService.generateQRCodeBase64(event.getQrCode());
 
             log.info(" QR code generated");
 
@@ -1,9 +1,9 @@
 package com.cibf.notificationservice.notification.service;
 
+import com.bookfair.apicontracts.qr.QRCodePngEncoder;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.MultiFormatWriter;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +19,9 @@ import java.util.Map;
 @Slf4j
 public class QRCodeService {
 
+    // PNG encoders keep their deflater and buffers between images
+    private static final ThreadLocal<QRCodePngEncoder> ENCODER = ThreadLocal.withInitial(QRCodePngEncoder::new);
+
     @Value("${app.qrcode.width:300}")
     private int qrCodeWidth;
 
@@ -32,21 +35,22 @@ public class QRCodeService {
             hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
             hints.put(EncodeHintType.MARGIN, 1);
 
-            BitMatrix bitMatrix = new MultiFormatWriter().encode(
+            // One bit per module; scaled to the configured size while writing the PNG
+            BitMatrix modules = new MultiFormatWriter().encode(
                     data,
                     BarcodeFormat.QR_CODE,
-                    qrCodeWidth,
-                    qrCodeHeight,
+                    0,
+                    0,
                     hints
             );
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024);
+            ENCODER.get().write(modules, qrCodeWidth, qrCodeHeight, outputStream);
 
             byte[] qrCodeBytes = outputStream.toByteArray();
             String base64QRCode = Base64.getEncoder().encodeToString(qrCodeBytes);
 
-            log.info("QR Code generated successfully for data: {}", data);
+            log.info("QR Code generated successfully");
             return base64QRCode;
 
         } catch (Exception e) {
@@ -54,14 +58,4 @@ public class QRCodeService {
             throw new RuntimeException("Failed to generate QR code", e);
         }
     }
-
-    public String generateReservationQRData(String reservationId, String userId, String userName) {
-        return String.format(
-                "BOOKFAIR_RESERVATION|ID:%s|USER:%s|NAME:%s|DATE:%s",
-                reservationId,
-                userId,
-                userName,
-                java.time.LocalDateTime.now().toString()
-        );
-    }
 }
\ No newline at end of file
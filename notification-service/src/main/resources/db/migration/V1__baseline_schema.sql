@@ -0,0 +1,17 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). The table is created only if it
+-- is missing, so databases that were set up by Hibernate are baselined without changes.
+
+create table if not exists notification_logs (
+    id bigint not null auto_increment,
+    recipient_email varchar(255) not null,
+    recipient_name varchar(255) not null,
+    notification_type enum ('RESERVATION_CONFIRMATION','REGISTRATION_CONFIRMATION','PASSWORD_RESET','ADMIN_ALERT') not null,
+    subject varchar(255) not null,
+    message text,
+    status varchar(50) not null,
+    error_message text,
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    reference_id varchar(255),
+    primary key (id)
+);
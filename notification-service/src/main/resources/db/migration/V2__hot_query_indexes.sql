@@ -0,0 +1,16 @@
+-- Indexes for the NotificationLogRepository lookups behind /api/notifications
+
+-- findByRecipientEmailOrderByCreatedAtDesc: equality on the email, rows already in created_at order
+create index idx_notification_logs_email_created_at on notification_logs (recipient_email, created_at);
+
+-- findByStatus, countByStatus and countFailedNotificationsByType (grouped within the status)
+create index idx_notification_logs_status_type on notification_logs (status, notification_type);
+
+-- findByNotificationType, countByNotificationType, findByNotificationTypeAndStatus
+create index idx_notification_logs_type_status on notification_logs (notification_type, status);
+
+-- findTop10ByOrderByCreatedAtDesc, findByCreatedAtBetween, findNotificationsFromLastWeek
+create index idx_notification_logs_created_at on notification_logs (created_at);
+
+-- findByReferenceId, findFirstByReferenceId, existsByReferenceId
+create index idx_notification_logs_reference_id on notification_logs (reference_id);
@@ -0,0 +1,124 @@
+package com.cibf.notificationservice.notification.repository;
+
+import com.cibf.notificationservice.notification.model.enums.NotificationType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on H2 in MySQL mode, validates the entity against the result and
+ * checks with EXPLAIN that the NotificationLogRepository lookups are answered from an index.
+ * Each test calls the repository method and explains the SQL Hibernate actually sent, captured
+ * by a statement inspector, with the same parameters bound. Hibernate runs with its MySQL dialect
+ * (H2's MySQL mode accepts it), so the SQL is the one production sends.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.cibf.notificationservice.notification.repository.HotQueryPlanTests$CapturedSql"
+})
+class HotQueryPlanTests {
+
+    private static final LocalDateTime SINCE = LocalDateTime.of(2026, 3, 15, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @BeforeEach
+    void clearCapturedSql() {
+        CapturedSql.statements.clear();
+    }
+
+    @Test
+    void recipientHistoryUsesEmailIndex() {
+        notificationLogRepository.findByRecipientEmailOrderByCreatedAtDesc("vendor@example.com");
+        assertUsesIndex("idx_notification_logs_email_created_at", "vendor@example.com");
+    }
+
+    @Test
+    void statusLookupsUseStatusIndex() {
+        notificationLogRepository.findByStatus("FAILED");
+        assertUsesIndex("idx_notification_logs_status_type", "FAILED");
+
+        notificationLogRepository.countByStatus("FAILED");
+        assertUsesIndex("idx_notification_logs_status_type", "FAILED");
+
+        notificationLogRepository.countFailedNotificationsByType();
+        assertUsesIndex("idx_notification_logs_status_type");
+    }
+
+    @Test
+    void typeLookupsUseTypeIndex() {
+        String type = NotificationType.RESERVATION_CONFIRMATION.name();
+
+        notificationLogRepository.findByNotificationType(NotificationType.RESERVATION_CONFIRMATION);
+        assertUsesIndex("idx_notification_logs_type_status", type);
+
+        notificationLogRepository.countByNotificationType(NotificationType.RESERVATION_CONFIRMATION);
+        assertUsesIndex("idx_notification_logs_type_status", type);
+
+        // Equality on both columns: (type, status) and (status, type) serve it equally well
+        notificationLogRepository.findByNotificationTypeAndStatus(NotificationType.RESERVATION_CONFIRMATION, "SENT");
+        assertUsesIndex("idx_notification_logs_", type, "SENT");
+    }
+
+    @Test
+    void timeRangesUseCreatedAtIndex() {
+        notificationLogRepository.findByCreatedAtBetween(SINCE, SINCE.plusDays(7));
+        assertUsesIndex("idx_notification_logs_created_at", SINCE, SINCE.plusDays(7));
+    }
+
+    @Test
+    void referenceLookupsUseReferenceIndex() {
+        notificationLogRepository.findByReferenceId("42");
+        assertUsesIndex("idx_notification_logs_reference_id", "42");
+
+        notificationLogRepository.existsByReferenceId("42");
+        assertUsesIndex("idx_notification_logs_reference_id", "42");
+    }
+
+    /**
+     * EXPLAIN the last statement Hibernate sent, with {@code parameters} bound in order
+     */
+    private void assertUsesIndex(String index, Object... parameters) {
+        assertFalse(CapturedSql.statements.isEmpty(), "No SQL was captured");
+        String sql = CapturedSql.statements.get(CapturedSql.statements.size() - 1);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters).toLowerCase();
+        assertFalse(plan.contains("tablescan"), () -> "Full scan in plan of " + sql + ":\n" + plan);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan of " + sql + ":\n" + plan);
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares, unchanged
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class UserProfile {
 
 
 @Entity
-@Table(name = "profiles") // Back to SQL Table
+@Table(name = "profiles", uniqueConstraints = @UniqueConstraint(name = "uk_profiles_user_id", columnNames = "user_id")) // Back to SQL Table
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -52,7 +52,7 @@ public class UserProfile {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Back to Long ID (Auto-increment)
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String userId; 
     private String fullName;
     private String email;
@@ -71,7 +71,8 @@ public class UserProfile {
     private String facebookUrl;
 
     @ElementCollection
-    @CollectionTable(name = "user_profile_literary_genres", joinColumns = @JoinColumn(name = "user_profile_id"))
+    @CollectionTable(name = "user_profile_literary_genres", joinColumns = @JoinColumn(name = "user_profile_id"),
+            indexes = @Index(name = "idx_user_profile_literary_genres_genre", columnList = "literary_genres, user_profile_id"))
     @Column(name = "literary_genres")
     private List<String> literaryGenres;
 
@@ -2,6 +2,8 @@ package com.bookfair.profile_management_service.repository;
 
 import com.bookfair.profile_management_service.model.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +13,8 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     Optional<UserProfile> findByUserId(String userId);
 
     // --- THIS IS THE METHOD YOU WERE MISSING ---
-    // It generates a SQL query like: SELECT * FROM profiles WHERE genres LIKE %genre%
-    List<UserProfile> findByLiteraryGenresContaining(String genre);
+    // Profiles listing the genre. Written as a join so the lookup starts from the genre index
+    // instead of checking every profile's genres (what the derived "Containing" query did)
+    @Query("SELECT DISTINCT p FROM UserProfile p JOIN p.literaryGenres g WHERE g = :genre")
+    List<UserProfile> findByLiteraryGenresContaining(@Param("genre") String genre);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Tables are created only if they
+-- are missing, so databases that were set up by Hibernate are baselined without changes.
+
+create table if not exists profiles (
+    id bigint not null auto_increment,
+    user_id varchar(255) not null,
+    full_name varchar(255),
+    email varchar(255),
+    phone_number varchar(255),
+    company_name varchar(255),
+    business_reg_no varchar(255),
+    address varchar(255),
+    business_description varchar(2000),
+    profile_image_url varchar(255),
+    website_url varchar(255),
+    facebook_url varchar(255),
+    role varchar(255),
+    primary key (id),
+    constraint uk_profiles_user_id unique (user_id)
+);
+
+create table if not exists user_profile_literary_genres (
+    user_profile_id bigint not null,
+    literary_genres varchar(255),
+    constraint fk_user_profile_literary_genres_profile foreign key (user_profile_id) references profiles (id)
+);
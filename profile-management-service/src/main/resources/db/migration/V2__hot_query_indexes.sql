@@ -0,0 +1,3 @@
+-- findByLiteraryGenresContaining: the genre filter runs against the collection table, so look the
+-- genre up there and join back on the profile ID from the same index
+create index idx_user_profile_literary_genres_genre on user_profile_literary_genres (literary_genres, user_profile_id);
@@ -0,0 +1,83 @@
+package com.bookfair.profile_management_service.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on H2 in MySQL mode, validates the entities against the result and
+ * checks with EXPLAIN that the UserProfileRepository lookups are answered from an index.
+ * Each test calls the repository method and explains the SQL Hibernate actually sent, captured
+ * by a statement inspector, with the same parameters bound.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.bookfair.profile_management_service.repository.HotQueryPlanTests$CapturedSql"
+})
+class HotQueryPlanTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @BeforeEach
+    void clearCapturedSql() {
+        CapturedSql.statements.clear();
+    }
+
+    @Test
+    void profileLookupUsesUserIdKey() {
+        userProfileRepository.findByUserId("user-42");
+        assertUsesIndex("uk_profiles_user_id", "user-42");
+    }
+
+    @Test
+    void genreSearchStartsFromGenreIndex() {
+        userProfileRepository.findByLiteraryGenresContaining("Fiction");
+        assertUsesIndex("idx_user_profile_literary_genres_genre", "Fiction");
+    }
+
+    /**
+     * EXPLAIN the last statement Hibernate sent, with {@code parameters} bound in order
+     */
+    private void assertUsesIndex(String index, Object... parameters) {
+        assertFalse(CapturedSql.statements.isEmpty(), "No SQL was captured");
+        String sql = CapturedSql.statements.get(CapturedSql.statements.size() - 1);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters).toLowerCase();
+        assertFalse(plan.contains("tablescan"), () -> "Full scan in plan of " + sql + ":\n" + plan);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan of " + sql + ":\n" + plan);
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares, unchanged
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
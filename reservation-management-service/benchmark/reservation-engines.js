@@ -0,0 +1,109 @@
+// Side-by-side load test of the JPA and reactive reservation engines (k6: https://k6.io),
+// for the three flows both engines implement: create, get by ID and list.
+//
+// Start the service with the "reactive" profile so both engines are served, pinned to a known
+// number of cores and with the per-user reservation cache off, so the JPA engine reads from the
+// database like the reactive one does, e.g.:
+//   docker compose run --cpus 2 -e SPRING_PROFILES_ACTIVE=reactive \
+//       -e RESERVATION_USER_CACHE_ENABLED=false reservation-management-service
+// then run:
+//   k6 run -e BASE_URL=http://localhost:8083 -e TOKEN=<jwt> -e CPUS=2 \
+//       -e TOKENS=<jwt>,<jwt>,... -e STALL_IDS=A1,A2,... benchmark/reservation-engines.js
+//
+// TOKEN's user needs at least one reservation (used for get by ID). Create runs one VU per stall
+// in STALL_IDS (CREATE_VUS to change it); each VU books its own stall for START_DATE and cancels it
+// again, so bookings never conflict. The quota allows 3 active stalls per user, so TOKENS needs at
+// least one token per 3 create VUs.
+//
+// Throughput per core for each engine and flow is printed from the http_reqs{engine,op} counters.
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const CPUS = Number(__ENV.CPUS || 1);
+const DURATION = __ENV.DURATION || '60s';
+const VUS = Number(__ENV.VUS || 200);
+const TOKENS = (__ENV.TOKENS || __ENV.TOKEN || '').split(',');
+const STALL_IDS = (__ENV.STALL_IDS || 'A1').split(',');
+const CREATE_VUS = Number(__ENV.CREATE_VUS || STALL_IDS.length);
+const START_DATE = __ENV.START_DATE || '2026-03-15';
+
+const engines = {
+    jpa: '/api/reservations',
+    reactive: '/api/reactive/reservations',
+};
+const ops = ['create', 'get', 'list'];
+
+// One scenario per engine and flow, run one after the other so they do not compete for the same cores
+const scenarios = {};
+const thresholds = {};
+let slot = 0;
+for (const op of ops) {
+    for (const engine of Object.keys(engines)) {
+        scenarios[`${op}_${engine}`] = {
+            executor: 'constant-vus',
+            vus: op === 'create' ? CREATE_VUS : VUS,
+            duration: DURATION,
+            startTime: `${slot++ * parseInt(DURATION, 10)}s`,
+            env: { ENGINE: engine, OP: op },
+        };
+        thresholds[`http_reqs{engine:${engine},op:${op}}`] = ['count>=0'];
+    }
+}
+
+export const options = { scenarios, thresholds };
+
+function headers(token) {
+    return { Authorization: `Bearer ${token}`, 'Content-Type': 'application/json' };
+}
+
+export function setup() {
+    const res = http.get(`${BASE_URL}${engines.jpa}/my-reservations`, { headers: headers(__ENV.TOKEN) });
+    const reservations = res.status === 200 ? res.json('data') : [];
+    if (!reservations || reservations.length === 0) {
+        fail('TOKEN user needs at least one reservation for the get by ID flow');
+    }
+    return { reservationId: reservations[0].id };
+}
+
+export default function (data) {
+    const engine = __ENV.ENGINE;
+    const op = __ENV.OP;
+    const base = `${BASE_URL}${engines[engine]}`;
+    const tags = { engine, op };
+
+    if (op === 'create') {
+        const token = TOKENS[(__VU - 1) % TOKENS.length];
+        const body = JSON.stringify({
+            stallIds: [STALL_IDS[(__VU - 1) % STALL_IDS.length]],
+            startDate: START_DATE,
+            endDate: START_DATE,
+        });
+        const res = http.post(base, body, { headers: headers(token), tags });
+        check(res, { 'status is 201': (r) => r.status === 201 });
+        if (res.status === 201) {
+            // Free the stall for the next iteration; not counted in the results
+            http.patch(`${BASE_URL}${engines.jpa}/${res.json('data.id')}/cancel`, null,
+                { headers: headers(token), tags: { engine, op: 'cleanup' } });
+        }
+        return;
+    }
+
+    const path = op === 'get' ? `/${data.reservationId}` : '/my-reservations';
+    const res = http.get(`${base}${path}`, { headers: headers(__ENV.TOKEN), tags });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const seconds = parseInt(DURATION, 10);
+    const lines = [];
+    for (const op of ops) {
+        for (const engine of Object.keys(engines)) {
+            const metric = data.metrics[`http_reqs{engine:${engine},op:${op}}`];
+            const count = metric ? metric.values.count : 0;
+            lines.push(`${op} ${engine}: ${(count / seconds).toFixed(1)} req/s, ` +
+                `${(count / seconds / CPUS).toFixed(1)} req/s per core`);
+        }
+    }
+    return { stdout: lines.join('\n') + '\n' };
+}
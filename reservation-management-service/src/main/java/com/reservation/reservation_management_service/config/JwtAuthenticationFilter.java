@@ -28,7 +28,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         
         // Skip authentication for health check and public endpoints
-        if (path.equals("/") || path.startsWith("/actuator") || path.equals("/api/reservations/verify-qr")) {
+        if (path.equals("/") || path.startsWith("/actuator") || path.equals("/api/reservations/verify-qr")
+                || (path.startsWith("/api/reservations/stall/") && path.endsWith("/availability"))
+                || path.startsWith("/api/reservations/internal/stalls/")
+                || path.startsWith("/api/reservations/gate/")) {
             filterChain.doFilter(request, response);
             return;
         }
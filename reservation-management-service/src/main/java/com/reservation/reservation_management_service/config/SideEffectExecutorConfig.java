@@ -0,0 +1,64 @@
+package com.reservation.reservation_management_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded worker pool for reservation side effects (QR rendering, emails) that run after commit.
+ * When the queue is full the submitting thread waits up to {@code enqueue-timeout-ms} for space and,
+ * if none frees up, runs the task itself, so side effects are slowed down under overload but never
+ * lost. The submitter may be a request still holding its database connection, so the wait is short.
+ * With {@code spring.threads.virtual.enabled} the workers are virtual threads,
+ * so tasks blocked on SMTP or disk do not hold a platform thread; the pool still bounds concurrency.
+ */
+@Configuration
+public class SideEffectExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor sideEffectExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${reservation.side-effects.pool-size:4}") int poolSize,
+            @Value("${reservation.side-effects.queue-capacity:500}") int queueCapacity,
+            @Value("${reservation.side-effects.enqueue-timeout-ms:2000}") long enqueueTimeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("side-effect-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("side-effect-").getVirtualThreadFactory());
+        }
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Side effect executor is shut down");
+            }
+            try {
+                if (pool.getQueue().offer(task, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            meterRegistry.counter("reservation.side-effects.caller-runs").increment();
+            task.run();
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(),
+                "reservation.side-effects", List.of());
+        return executor;
+    }
+}
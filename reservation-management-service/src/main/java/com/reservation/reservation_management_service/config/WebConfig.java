@@ -1,12 +1,17 @@
 package com.reservation.reservation_management_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -30,4 +35,28 @@ public class WebConfig {
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
+
+    /**
+     * Shared client for stall-management-service backed by a pooled connection provider
+     */
+    @Bean
+    public WebClient stallServiceWebClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${service.stall.url}") String stallServiceUrl,
+            @Value("${service.stall.max-connections:50}") int maxConnections,
+            @Value("${service.stall.timeout-ms:3000}") long timeoutMs
+    ) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("stall-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(timeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .responseTimeout(Duration.ofMillis(timeoutMs));
+
+        return webClientBuilder.clone()
+                .baseUrl(stallServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
 }
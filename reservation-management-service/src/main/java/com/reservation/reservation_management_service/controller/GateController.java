@@ -0,0 +1,88 @@
+package com.reservation.reservation_management_service.controller;
+
+import com.reservation.reservation_management_service.dto.ApiResponse;
+import com.reservation.reservation_management_service.dto.GateCheckInBatchRequestDTO;
+import com.reservation.reservation_management_service.dto.GateCheckInBatchResultDTO;
+import com.reservation.reservation_management_service.dto.GatePassBundleDTO;
+import com.reservation.reservation_management_service.dto.GateRevocationsDTO;
+import com.reservation.reservation_management_service.service.GateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+
+/**
+ * Endpoints for the entry gate devices. They authenticate with the shared X-Gate-Key header
+ * instead of a user token.
+ */
+@RestController
+@RequestMapping("/api/reservations/gate")
+@RequiredArgsConstructor
+public class GateController {
+
+    private final GateService gateService;
+
+    @Value("${reservation.gate.api-key}")
+    private String gateApiKey;
+
+    /**
+     * Revoked (cancelled) passes; pass the returned version as "since" to get only newer ones
+     */
+    @GetMapping("/revocations")
+    public ResponseEntity<ApiResponse<GateRevocationsDTO>> getRevocations(
+            @RequestHeader(value = "X-Gate-Key", required = false) String gateKey,
+            @RequestParam(required = false) Long since
+    ) {
+        if (!isGate(gateKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Access denied", "Valid gate key required"));
+        }
+        GateRevocationsDTO revocations = gateService.getRevocations(since);
+        return ResponseEntity.ok(ApiResponse.success(revocations, "Revocations retrieved successfully"));
+    }
+
+    /**
+     * Passes admitted on a date (default today); pass the returned version as "since" to get only changes
+     */
+    @GetMapping("/passes")
+    public ResponseEntity<ApiResponse<GatePassBundleDTO>> getPasses(
+            @RequestHeader(value = "X-Gate-Key", required = false) String gateKey,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long since
+    ) {
+        if (!isGate(gateKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Access denied", "Valid gate key required"));
+        }
+        GatePassBundleDTO passes = gateService.getPasses(date != null ? date : LocalDate.now(), since);
+        return ResponseEntity.ok(ApiResponse.success(passes, "Passes retrieved successfully"));
+    }
+
+    /**
+     * Upload check-ins recorded by a gate; re-sending a batch does not store its scans twice
+     */
+    @PostMapping("/check-ins")
+    public ResponseEntity<ApiResponse<GateCheckInBatchResultDTO>> recordCheckIns(
+            @RequestHeader(value = "X-Gate-Key", required = false) String gateKey,
+            @Valid @RequestBody GateCheckInBatchRequestDTO request
+    ) {
+        if (!isGate(gateKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Access denied", "Valid gate key required"));
+        }
+        GateCheckInBatchResultDTO result = gateService.recordCheckIns(request.getGateId(), request.getCheckIns());
+        return ResponseEntity.ok(ApiResponse.success(result, "Check-ins recorded successfully"));
+    }
+
+    private boolean isGate(String gateKey) {
+        return gateKey != null && MessageDigest.isEqual(
+                gateKey.getBytes(StandardCharsets.UTF_8), gateApiKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
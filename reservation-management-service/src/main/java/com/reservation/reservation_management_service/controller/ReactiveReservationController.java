@@ -0,0 +1,75 @@
+package com.reservation.reservation_management_service.controller;
+
+import com.reservation.reservation_management_service.dto.ApiResponse;
+import com.reservation.reservation_management_service.dto.ReservationRequestDTO;
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
+import com.reservation.reservation_management_service.service.ReactiveReservationService;
+import com.reservation.reservation_management_service.service.WaitingRoom;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive engine endpoints (profile "reactive"), mirroring the create/get/list endpoints of
+ * {@link ReservationController}. The servlet thread is released while the request waits on the
+ * database or the stall service.
+ */
+@RestController
+@RequestMapping("/api/reactive/reservations")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveReservationController {
+
+    private final ReactiveReservationService reactiveReservationService;
+    private final WaitingRoom waitingRoom;
+
+    /**
+     * Create a new reservation
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<ReservationResponseDTO>>> createReservation(
+            @Valid @RequestBody ReservationRequestDTO request,
+            @RequestAttribute("userId") Long userId,
+            @RequestAttribute("userEmail") String userEmail,
+            @RequestAttribute(value = "companyName", required = false) String companyName
+    ) {
+        waitingRoom.requireAdmission(userId);
+        return reactiveReservationService.createReservation(request, userId, userEmail, companyName)
+                // Free the admission whether or not the reservation was created
+                .doFinally(signal -> waitingRoom.leave(userId))
+                .map(reservation -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(reservation, "Reservation created successfully")));
+    }
+
+    /**
+     * Get all reservations for logged-in user
+     */
+    @GetMapping("/my-reservations")
+    public Mono<ResponseEntity<ApiResponse<List<ReservationResponseDTO>>>> getUserReservations(
+            @RequestAttribute("userId") Long userId
+    ) {
+        return reactiveReservationService.getUserReservations(userId)
+                .map(reservations -> ResponseEntity.ok(
+                        ApiResponse.success(reservations, "Reservations retrieved successfully")));
+    }
+
+    /**
+     * Get reservation by ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<ReservationResponseDTO>>> getReservationById(
+            @PathVariable Long id,
+            @RequestAttribute("userId") Long userId
+    ) {
+        return reactiveReservationService.getReservationById(id, userId)
+                .map(reservation -> ResponseEntity.ok(
+                        ApiResponse.success(reservation, "Reservation retrieved successfully")));
+    }
+}
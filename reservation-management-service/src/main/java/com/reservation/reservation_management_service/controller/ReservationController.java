@@ -1,18 +1,34 @@
 package com.reservation.reservation_management_service.controller;
 
 import com.reservation.reservation_management_service.dto.*;
+import com.reservation.reservation_management_service.service.IdempotentReservationService;
+import com.reservation.reservation_management_service.service.QRCodeService;
 import com.reservation.reservation_management_service.service.ReservationService;
+import com.reservation.reservation_management_service.service.WaitingRoom;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,7 +36,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReservationController {
 
+    private static final String QR_IMAGE_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ReservationService reservationService;
+    private final IdempotentReservationService idempotentReservationService;
+    private final WaitingRoom waitingRoom;
+
+    @Value("${reservation.internal.api-key}")
+    private String internalApiKey;
 
     /**
      * Create a new reservation
@@ -28,13 +56,21 @@ public class ReservationController {
     @PostMapping
     public ResponseEntity<ApiResponse<ReservationResponseDTO>> createReservation(
             @Valid @RequestBody ReservationRequestDTO request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestAttribute("userId") Long userId,
             @RequestAttribute("userEmail") String userEmail,
             @RequestAttribute(value = "companyName", required = false) String companyName
     ) {
-        ReservationResponseDTO reservation = reservationService.createReservation(
-                request, userId, userEmail, companyName
-        );
+        waitingRoom.requireAdmission(userId);
+        ReservationResponseDTO reservation;
+        try {
+            reservation = idempotentReservationService.createReservation(
+                    idempotencyKey, request, userId, userEmail, companyName
+            );
+        } finally {
+            // Free the admission whether or not the reservation was created
+            waitingRoom.leave(userId);
+        }
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success(reservation, "Reservation created successfully"));
@@ -102,33 +138,85 @@ public class ReservationController {
         return ResponseEntity.ok(ApiResponse.success(qrCode, "QR code retrieved successfully"));
     }
 
+    /**
+     * Get the QR code image as a raw PNG. The image never changes for a reservation, so it is
+     * served with a strong ETag and an immutable Cache-Control header, and revalidations get a 304.
+     */
+    @GetMapping("/{id}/qrcode/image")
+    public void getQRCodeImage(
+            @PathVariable Long id,
+            @RequestAttribute("userId") Long userId,
+            ServletWebRequest webRequest,
+            HttpServletResponse response
+    ) throws IOException {
+        QRCodeService.QRCodeImage image = reservationService.getQRCodeImage(id, userId);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, QR_IMAGE_CACHE_CONTROL);
+        if (webRequest.checkNotModified(image.eTag())) {
+            return;
+        }
+        sendImage(image.path(), webRequest.getRequest(), response);
+    }
+
     /**
      * Download QR code image
      */
     @GetMapping("/{id}/qrcode/download")
-    public ResponseEntity<Resource> downloadQRCode(
+    public void downloadQRCode(
             @PathVariable Long id,
-            @RequestAttribute("userId") Long userId
-    ) {
-        ReservationResponseDTO reservation = reservationService.getReservationById(id, userId);
-        
-        if (reservation.getQrCode() == null) {
-            return ResponseEntity.notFound().build();
+            @RequestAttribute("userId") Long userId,
+            ServletWebRequest webRequest,
+            HttpServletResponse response
+    ) throws IOException {
+        QRCodeService.QRCodeImage image = reservationService.getQRCodeImage(id, userId);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, QR_IMAGE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"QRCode-Reservation-" + id + ".png\"");
+        if (webRequest.checkNotModified(image.eTag())) {
+            return;
         }
+        sendImage(image.path(), webRequest.getRequest(), response);
+    }
 
-        // In a real implementation, you'd retrieve the actual file path from the service
-        File file = new File("./uploads/qrcodes/QR-" + id + ".png");
-        if (!file.exists()) {
-            return ResponseEntity.notFound().build();
-        }
+    /**
+     * Check whether a single stall is free for a date range (used by stall-management-service)
+     */
+    @GetMapping("/stall/{stallId}/availability")
+    public ResponseEntity<Boolean> checkStallAvailability(
+            @PathVariable String stallId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(reservationService.isStallAvailable(stallId, startDate, endDate));
+    }
 
-        Resource resource = new FileSystemResource(file);
-        
-        return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_PNG)
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"QRCode-Reservation-" + id + ".png\"")
-                .body(resource);
+    /**
+     * Get which of the given stalls are free for a date range
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<List<String>>> getFreeStalls(
+            @RequestParam List<String> stallIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        List<String> freeStallIds = reservationService.getFreeStallIds(stallIds, startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success(freeStallIds, "Stall availability retrieved successfully"));
+    }
+
+    /**
+     * Invalidate cached stall data (called by stall-management-service when a stall changes).
+     * Not behind a user token, so callers authenticate with the shared X-Internal-Key header.
+     */
+    @PostMapping("/internal/stalls/{stallId}/invalidate")
+    public ResponseEntity<Void> invalidateStall(
+            @PathVariable String stallId,
+            @RequestHeader(value = "X-Internal-Key", required = false) String internalKey
+    ) {
+        if (internalKey == null || !MessageDigest.isEqual(
+                internalKey.getBytes(StandardCharsets.UTF_8), internalApiKey.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        reservationService.invalidateStall(stallId);
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -161,6 +249,59 @@ public class ReservationController {
         return ResponseEntity.ok(ApiResponse.success(reservations, "All reservations retrieved successfully"));
     }
 
+    /**
+     * Confirm a paid PENDING reservation (Admin only)
+     */
+    @PostMapping("/admin/{id}/confirm")
+    public ResponseEntity<ApiResponse<ReservationResponseDTO>> confirmReservation(
+            @PathVariable Long id,
+            @RequestAttribute("userRole") String userRole
+    ) {
+        if (!"ADMIN".equalsIgnoreCase(userRole)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Access denied", "Admin access required"));
+        }
+
+        ReservationResponseDTO reservation = reservationService.confirmReservation(id);
+        return ResponseEntity.ok(ApiResponse.success(reservation, "Reservation confirmed successfully"));
+    }
+
+    /**
+     * Get reservations page by page using a cursor (Admin only)
+     */
+    @GetMapping("/admin/page")
+    public ResponseEntity<ApiResponse<ReservationPageResponseDTO>> getReservationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestAttribute("userRole") String userRole
+    ) {
+        if (!"ADMIN".equalsIgnoreCase(userRole)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Access denied", "Admin access required"));
+        }
+
+        ReservationPageResponseDTO page = reservationService.getReservationsPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page, "Reservations page retrieved successfully"));
+    }
+
+    /**
+     * Export all reservations as a streamed JSON array (Admin only)
+     */
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestAttribute("userRole") String userRole
+    ) {
+        if (!"ADMIN".equalsIgnoreCase(userRole)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        StreamingResponseBody body = reservationService::streamAllReservations;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations.json\"")
+                .body(body);
+    }
+
     /**
      * Get reservations by status (Admin only)
      */
@@ -178,4 +319,29 @@ public class ReservationController {
         return ResponseEntity.ok(ApiResponse.success(reservations, 
                 "Reservations with status '" + status + "' retrieved successfully"));
     }
+
+    /**
+     * Write a PNG file to the response, handing it to Tomcat's sendfile when the connector
+     * supports it, otherwise copying it with FileChannel.transferTo.
+     */
+    private static void sendImage(Path path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = Files.size(path);
+        response.setContentType(MediaType.IMAGE_PNG_VALUE);
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.reservation.reservation_management_service.controller;
+
+import com.reservation.reservation_management_service.dto.ApiResponse;
+import com.reservation.reservation_management_service.dto.WaitingRoomStatusDTO;
+import com.reservation.reservation_management_service.service.WaitingRoom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reservations/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoom waitingRoom;
+
+    /**
+     * Join the waiting room (returns the existing ticket if the user already has one)
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<WaitingRoomStatusDTO>> join(@RequestAttribute("userId") Long userId) {
+        WaitingRoomStatusDTO status = waitingRoom.join(userId);
+        return ResponseEntity.ok(ApiResponse.success(status, "Waiting room ticket issued"));
+    }
+
+    /**
+     * Poll the queue position of the user's ticket
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<WaitingRoomStatusDTO>> getStatus(@RequestAttribute("userId") Long userId) {
+        WaitingRoomStatusDTO status = waitingRoom.getStatus(userId);
+        return ResponseEntity.ok(ApiResponse.success(status, "Waiting room status retrieved successfully"));
+    }
+
+    /**
+     * Leave the waiting room
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> leave(@RequestAttribute("userId") Long userId) {
+        waitingRoom.leave(userId);
+        return ResponseEntity.ok(ApiResponse.success(null, "Left the waiting room"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.reservation.reservation_management_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateCheckInBatchRequestDTO {
+
+    @Size(max = 50, message = "Gate ID must be at most 50 characters")
+    private String gateId;
+
+    @Valid
+    @NotEmpty(message = "At least one check-in is required")
+    @Size(max = 1000, message = "At most 1000 check-ins can be sent per batch")
+    private List<GateCheckInDTO> checkIns;
+}
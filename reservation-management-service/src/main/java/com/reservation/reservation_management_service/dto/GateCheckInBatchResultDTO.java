@@ -0,0 +1,26 @@
+package com.reservation.reservation_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateCheckInBatchResultDTO {
+
+    private int received;
+
+    // Newly stored check-ins
+    private int recorded;
+
+    // Check-ins already stored (or repeated within the batch), safe for the gate to discard
+    private int duplicates;
+
+    // QR codes that do not belong to any reservation; not stored
+    private List<String> unknownQrCodes;
+}
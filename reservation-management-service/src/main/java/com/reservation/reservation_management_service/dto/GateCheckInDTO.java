@@ -0,0 +1,23 @@
+package com.reservation.reservation_management_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateCheckInDTO {
+
+    @NotBlank(message = "QR code is required")
+    private String qrCode;
+
+    @NotNull(message = "Scan time is required")
+    private LocalDateTime scannedAt;
+}
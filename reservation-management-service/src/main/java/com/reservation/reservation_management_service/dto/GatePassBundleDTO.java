@@ -0,0 +1,30 @@
+package com.reservation.reservation_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GatePassBundleDTO {
+
+    private LocalDate date;
+
+    // Pass back as "since" on the next sync to receive only changes after this bundle
+    private long version;
+
+    // True when this replaces the gate's passes for the date rather than updating them
+    private boolean full;
+
+    // Confirmed passes, added or changed since the requested version
+    private List<GatePassDTO> passes;
+
+    // Reservations that are no longer admitted on this date (only in deltas)
+    private List<Long> removedReservationIds;
+}
@@ -0,0 +1,23 @@
+package com.reservation.reservation_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GatePassDTO {
+
+    private Long reservationId;
+
+    private String qrCode;
+
+    private String companyName;
+
+    private List<String> stallIds;
+}
@@ -0,0 +1,24 @@
+package com.reservation.reservation_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GateRevocationsDTO {
+
+    // Pass back as "since" on the next sync to receive only newer revocations
+    private long version;
+
+    // True when this is the complete list rather than a delta
+    private boolean full;
+
+    // Cancelled reservation IDs, ascending
+    private List<Long> revokedReservationIds;
+}
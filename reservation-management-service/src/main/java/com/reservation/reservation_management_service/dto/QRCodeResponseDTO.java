@@ -13,5 +13,6 @@ public class QRCodeResponseDTO {
 
     private String qrCode;
     private String qrCodeImage;  // Base64 encoded image
+    private String imageUrl;     // Raw, cacheable PNG
     private String downloadUrl;
 }
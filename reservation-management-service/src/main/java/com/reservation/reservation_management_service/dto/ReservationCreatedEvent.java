@@ -0,0 +1,42 @@
+package com.reservation.reservation_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Payload of the reservation created event consumed by notification-service.
+ * Field names match notification-service's ReservationEvent as read by its Gson handler.
+ * {@code qrCode} is the reservation's signed pass text, which the emailed QR image must encode as is.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationCreatedEvent {
+
+    private String reservationId;
+    private String userId;
+    private String userEmail;
+    private String userName;
+    private String businessName;
+    private List<StallInfo> stalls;
+    private Double totalAmount;
+    private String qrCode;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StallInfo {
+        private String stallId;
+        private String stallName;
+        private Double price;
+    }
+}
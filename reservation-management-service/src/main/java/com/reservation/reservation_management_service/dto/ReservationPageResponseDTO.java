@@ -0,0 +1,22 @@
+package com.reservation.reservation_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationPageResponseDTO {
+
+    private List<ReservationResponseDTO> items;
+
+    // Opaque cursor to pass back for the next page, null on the last page
+    private String nextCursor;
+
+    private boolean hasMore;
+}
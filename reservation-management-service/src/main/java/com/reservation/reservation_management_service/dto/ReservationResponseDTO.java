@@ -49,6 +49,45 @@ public class ReservationResponseDTO {
         private BigDecimal price;
     }
 
+    /**
+     * Used by JPQL constructor projections; stallIds and genres are filled in separately
+     */
+    public ReservationResponseDTO(
+            Long id,
+            Long userId,
+            String userEmail,
+            String companyName,
+            LocalDate startDate,
+            LocalDate endDate,
+            Reservation.ReservationStatus status,
+            Reservation.PaymentStatus paymentStatus,
+            BigDecimal totalPrice,
+            String qrCode,
+            String notes,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            LocalDateTime confirmedAt,
+            LocalDateTime cancelledAt,
+            String cancellationReason
+    ) {
+        this.id = id;
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.companyName = companyName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status.name();
+        this.paymentStatus = paymentStatus.name();
+        this.totalPrice = totalPrice;
+        this.qrCode = qrCode;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.confirmedAt = confirmedAt;
+        this.cancelledAt = cancelledAt;
+        this.cancellationReason = cancellationReason;
+    }
+
     public static ReservationResponseDTO fromEntity(Reservation reservation) {
         return ReservationResponseDTO.builder()
                 .id(reservation.getId())
@@ -0,0 +1,31 @@
+package com.reservation.reservation_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitingRoomStatusDTO {
+
+    private String ticketId;
+
+    // WAITING or ADMITTED
+    private String status;
+
+    // Place in the queue (1 = next to be admitted), 0 once admitted
+    private long position;
+
+    private int waiting;
+
+    // Deadline for creating a reservation once admitted
+    private LocalDateTime admittedUntil;
+
+    // Suggested delay before polling again
+    private int retryAfterSeconds;
+}
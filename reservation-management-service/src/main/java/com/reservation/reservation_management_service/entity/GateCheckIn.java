@@ -0,0 +1,83 @@
+package com.reservation.reservation_management_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A pass scanned at an entry gate, possibly recorded offline and uploaded later.
+ * Keyed by (QR code, scan time), so a gate re-sending the same scan stores it only once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(GateCheckIn.Key.class)
+@Table(name = "gate_check_ins", indexes = {
+        @Index(name = "idx_gate_check_ins_reservation", columnList = "reservation_id")
+})
+public class GateCheckIn implements Persistable<GateCheckIn.Key> {
+
+    @Id
+    @Column(name = "qr_code", nullable = false)
+    private String qrCode;
+
+    @Id
+    @Column(name = "scanned_at", nullable = false)
+    private LocalDateTime scannedAt;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Column(name = "gate_id", length = 50)
+    private String gateId;
+
+    @CreationTimestamp
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public Key getId() {
+        return new Key(qrCode, scannedAt);
+    }
+
+    /**
+     * Check-ins are only ever inserted, so let them be batched without a select per row
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private String qrCode;
+
+        private LocalDateTime scannedAt;
+    }
+}
@@ -4,9 +4,14 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,11 +23,20 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "reservations")
-public class Reservation {
-
+@Table(name = "reservations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reservations_qr_code", columnNames = "qr_code"),
+        indexes = {
+                @Index(name = "idx_reservations_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_reservations_status_end_date", columnList = "status, end_date"),
+                @Index(name = "idx_reservations_user_status", columnList = "user_id, status"),
+                @Index(name = "idx_reservations_status_dates", columnList = "status, start_date, end_date"),
+                @Index(name = "idx_reservations_status_cancelled_at", columnList = "status, cancelled_at"),
+                @Index(name = "idx_reservations_updated_at", columnList = "updated_at")
+        })
+public class Reservation implements Persistable<Long> {
+
+    // Assigned by ReservationIdGenerator before the reservation is saved
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -34,8 +48,11 @@ public class Reservation {
     @Column(name = "company_name")
     private String companyName;
 
+    // Loaded for all reservations of the same query at once instead of one query per reservation
     @ElementCollection
-    @CollectionTable(name = "reservation_stalls", joinColumns = @JoinColumn(name = "reservation_id"))
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "reservation_stalls", joinColumns = @JoinColumn(name = "reservation_id"),
+            indexes = @Index(name = "idx_reservation_stalls_stall", columnList = "stall_id, reservation_id"))
     @Column(name = "stall_id")
     private List<String> stallIds;
 
@@ -56,13 +73,14 @@ public class Reservation {
     @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalPrice;
 
-    @Column(name = "qr_code", unique = true)
+    @Column(name = "qr_code")
     private String qrCode;
 
     @Column(name = "qr_code_path")
     private String qrCodePath;
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "reservation_genres", joinColumns = @JoinColumn(name = "reservation_id"))
     @Column(name = "genre")
     private List<String> genres;
@@ -87,6 +105,26 @@ public class Reservation {
     @Column(name = "confirmed_at")
     private LocalDateTime confirmedAt;
 
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    /**
+     * IDs are assigned up front, so tell Spring Data whether to persist or merge
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
     public enum ReservationStatus {
         PENDING,
         CONFIRMED,
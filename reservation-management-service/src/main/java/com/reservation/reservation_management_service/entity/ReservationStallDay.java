@@ -0,0 +1,76 @@
+package com.reservation.reservation_management_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One day of one stall held by an active reservation. The (stall_id, day) primary key makes the
+ * database reject a second booking of the same stall day, however the requests interleave.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(ReservationStallDay.Key.class)
+@Table(name = "reservation_stall_days", indexes = {
+        @Index(name = "idx_reservation_stall_days_reservation", columnList = "reservation_id")
+})
+public class ReservationStallDay implements Persistable<ReservationStallDay.Key> {
+
+    @Id
+    @Column(name = "stall_id", nullable = false)
+    private String stallId;
+
+    // Quoted: DAY is a reserved word in some databases (H2)
+    @Id
+    @Column(name = "`day`", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public Key getId() {
+        return new Key(stallId, day);
+    }
+
+    /**
+     * Days are only inserted and deleted, so insert without a select per row
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private String stallId;
+
+        private LocalDate day;
+    }
+}
@@ -1,6 +1,8 @@
 package com.reservation.reservation_management_service.exception;
 
 import com.reservation.reservation_management_service.dto.ApiResponse;
+import com.reservation.reservation_management_service.dto.WaitingRoomStatusDTO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -29,10 +32,22 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(StallNotAvailableException.class)
-    public ResponseEntity<ApiResponse<Object>> handleStallNotAvailableException(StallNotAvailableException ex) {
+    public ResponseEntity<ApiResponse<List<String>>> handleStallNotAvailableException(StallNotAvailableException ex) {
+        ApiResponse<List<String>> body = ApiResponse.error(ex.getMessage(), "Stall not available");
+        body.setData(ex.getConflictingStallIds());
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
-                .body(ApiResponse.error(ex.getMessage(), "Stall not available"));
+                .body(body);
+    }
+
+    @ExceptionHandler(WaitingRoomException.class)
+    public ResponseEntity<ApiResponse<WaitingRoomStatusDTO>> handleWaitingRoomException(WaitingRoomException ex) {
+        ApiResponse<WaitingRoomStatusDTO> body = ApiResponse.error(ex.getMessage(), "Waiting for admission");
+        body.setData(ex.getStatus());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getStatus().getRetryAfterSeconds()))
+                .body(body);
     }
 
     @ExceptionHandler(InvalidReservationException.class)
@@ -1,7 +1,21 @@
 package com.reservation.reservation_management_service.exception;
 
+import java.util.List;
+
 public class StallNotAvailableException extends RuntimeException {
+
+    private final List<String> conflictingStallIds;
+
     public StallNotAvailableException(String message) {
+        this(message, List.of());
+    }
+
+    public StallNotAvailableException(String message, List<String> conflictingStallIds) {
         super(message);
+        this.conflictingStallIds = conflictingStallIds;
+    }
+
+    public List<String> getConflictingStallIds() {
+        return conflictingStallIds;
     }
 }
@@ -0,0 +1,17 @@
+package com.reservation.reservation_management_service.exception;
+
+import com.reservation.reservation_management_service.dto.WaitingRoomStatusDTO;
+
+public class WaitingRoomException extends RuntimeException {
+
+    private final WaitingRoomStatusDTO status;
+
+    public WaitingRoomException(String message, WaitingRoomStatusDTO status) {
+        super(message);
+        this.status = status;
+    }
+
+    public WaitingRoomStatusDTO getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,18 @@
+package com.reservation.reservation_management_service.repository;
+
+import com.reservation.reservation_management_service.entity.GateCheckIn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GateCheckInRepository extends JpaRepository<GateCheckIn, GateCheckIn.Key> {
+
+    // (qrCode, scannedAt) of check-ins already recorded for the given QR codes
+    @Query("SELECT c.qrCode, c.scannedAt FROM GateCheckIn c WHERE c.qrCode IN :qrCodes")
+    List<Object[]> findScansByQrCodes(@Param("qrCodes") Collection<String> qrCodes);
+}
@@ -0,0 +1,28 @@
+package com.reservation.reservation_management_service.repository;
+
+import com.reservation.reservation_management_service.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Lock the oldest unpublished events; rows locked by another relay instance are skipped
+    @Query(value = "SELECT * FROM reservation_outbox WHERE published_at IS NULL " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockUnpublishedBatch(@Param("limit") int limit);
+
+    // Count events still waiting to be published
+    long countByPublishedAtIsNull();
+
+    // Remove events published before the given time
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,28 @@
+package com.reservation.reservation_management_service.repository;
+
+import com.reservation.reservation_management_service.entity.ReservationIdSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservationIdSequenceRepository extends JpaRepository<ReservationIdSequence, String> {
+
+    // Create the sequence row if missing and make sure it is past every existing reservation ID
+    @Modifying
+    @Query(value = "INSERT INTO reservation_id_sequence (name, next_val) " +
+                   "SELECT :name, COALESCE(MAX(id), 0) FROM reservations " +
+                   "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))", nativeQuery = true)
+    int initialize(@Param("name") String name);
+
+    // Advance the sequence by a block; the new value is readable through LAST_INSERT_ID() on this connection
+    @Modifying
+    @Query(value = "UPDATE reservation_id_sequence SET next_val = LAST_INSERT_ID(next_val + :blockSize) " +
+                   "WHERE name = :name", nativeQuery = true)
+    int advance(@Param("name") String name, @Param("blockSize") int blockSize);
+
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastInsertId();
+}
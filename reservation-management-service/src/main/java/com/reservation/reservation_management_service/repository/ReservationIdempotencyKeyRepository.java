@@ -0,0 +1,22 @@
+package com.reservation.reservation_management_service.repository;
+
+import com.reservation.reservation_management_service.entity.ReservationIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ReservationIdempotencyKeyRepository extends JpaRepository<ReservationIdempotencyKey, Long> {
+
+    Optional<ReservationIdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    // Remove keys recorded before the given time
+    @Modifying
+    @Query("DELETE FROM ReservationIdempotencyKey k WHERE k.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
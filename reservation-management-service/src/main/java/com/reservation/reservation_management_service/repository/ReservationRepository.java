@@ -1,18 +1,41 @@
 package com.reservation.reservation_management_service.repository;
 
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
 import com.reservation.reservation_management_service.entity.Reservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    String RESPONSE_PROJECTION = "SELECT new com.reservation.reservation_management_service.dto.ReservationResponseDTO(" +
+            "r.id, r.userId, r.userEmail, r.companyName, r.startDate, r.endDate, r.status, r.paymentStatus, " +
+            "r.totalPrice, r.qrCode, r.notes, r.createdAt, r.updatedAt, r.confirmedAt, r.cancelledAt, " +
+            "r.cancellationReason) FROM Reservation r ";
+
+    // Find a reservation and lock its row until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+
     // Find all reservations by user ID
     List<Reservation> findByUserId(Long userId);
 
@@ -36,13 +59,81 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("endDate") LocalDate endDate
     );
 
+    // Find which of the given stalls are already reserved for a date range
+    @Query("SELECT DISTINCT s FROM Reservation r JOIN r.stallIds s WHERE s IN :stallIds " +
+           "AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "AND r.startDate <= :endDate AND r.endDate >= :startDate")
+    List<String> findConflictingStallIds(
+            @Param("stallIds") Collection<String> stallIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // (stallId, startDate, endDate) of active reservations on the given stalls overlapping a date range
+    @Query("SELECT s, r.startDate, r.endDate FROM Reservation r JOIN r.stallIds s WHERE s IN :stallIds " +
+           "AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "AND r.startDate <= :endDate AND r.endDate >= :startDate")
+    List<Object[]> findActiveStallRanges(
+            @Param("stallIds") Collection<String> stallIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Load (reservationId, stallId, startDate, endDate) of every active reservation
+    @Query("SELECT r.id, s, r.startDate, r.endDate FROM Reservation r JOIN r.stallIds s " +
+           "WHERE r.status IN ('PENDING', 'CONFIRMED')")
+    List<Object[]> findActiveStallDateRanges();
+
     // Get all reservations for admin
     @Query("SELECT r FROM Reservation r ORDER BY r.createdAt DESC")
     List<Reservation> findAllReservationsOrderByCreatedDesc();
 
+    // First page of reservations, newest first (keyset pagination on created_at, id)
+    @Query("SELECT r FROM Reservation r ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reservation> findFirstPage(Pageable pageable);
+
+    // Page of reservations created before the given (createdAt, id) position, newest first
+    @Query("SELECT r FROM Reservation r WHERE r.createdAt < :createdAt " +
+           "OR (r.createdAt = :createdAt AND r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reservation> findPageBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Stream response DTOs (without collections) newest first through a server-side cursor
+    // (requires useCursorFetch=true, which also lets other queries run while the cursor is open)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "ORDER BY r.createdAt DESC, r.id DESC")
+    Stream<ReservationResponseDTO> streamAllResponsesOrderByCreatedDesc();
+
     // Find reservations by status
     List<Reservation> findByStatus(Reservation.ReservationStatus status);
 
+    // Response DTOs (without collections) for a user's reservations
+    @Query(RESPONSE_PROJECTION + "WHERE r.userId = :userId")
+    List<ReservationResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    // Response DTOs (without collections) for reservations with a status
+    @Query(RESPONSE_PROJECTION + "WHERE r.status = :status")
+    List<ReservationResponseDTO> findResponsesByStatus(@Param("status") Reservation.ReservationStatus status);
+
+    // Response DTOs (without collections) for all reservations, newest first
+    @Query(RESPONSE_PROJECTION + "ORDER BY r.createdAt DESC")
+    List<ReservationResponseDTO> findAllResponsesOrderByCreatedDesc();
+
+    // (reservationId, stallId) pairs for the given reservations
+    @Query("SELECT r.id, s FROM Reservation r JOIN r.stallIds s WHERE r.id IN :ids")
+    List<Object[]> findStallIdsByReservationIds(@Param("ids") Collection<Long> ids);
+
+    // (reservationId, genre) pairs for the given reservations
+    @Query("SELECT r.id, g FROM Reservation r JOIN r.genres g WHERE r.id IN :ids")
+    List<Object[]> findGenresByReservationIds(@Param("ids") Collection<Long> ids);
+
     // Find reservations by date range
     @Query("SELECT r FROM Reservation r WHERE r.startDate >= :startDate AND r.endDate <= :endDate")
     List<Reservation> findReservationsByDateRange(
@@ -57,4 +148,55 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     // Find reservations containing a specific stall
     @Query("SELECT r FROM Reservation r JOIN r.stallIds s WHERE s = :stallId")
     List<Reservation> findReservationsByStallId(@Param("stallId") String stallId);
+
+    // IDs and cancellation times of reservations cancelled after the given time (gate revocation list)
+    @Query("SELECT r.id, r.cancelledAt FROM Reservation r WHERE r.status = 'CANCELLED' " +
+           "AND r.cancelledAt > :since ORDER BY r.cancelledAt")
+    List<Object[]> findCancelledSince(@Param("since") LocalDateTime since);
+
+    // (id, qrCode, companyName, status, updatedAt) of reservations covering a day, changed after the given time
+    @Query("SELECT r.id, r.qrCode, r.companyName, r.status, r.updatedAt FROM Reservation r " +
+           "WHERE r.startDate <= :day AND r.endDate >= :day AND r.updatedAt > :since")
+    List<Object[]> findGatePassesChangedSince(
+            @Param("day") LocalDate day,
+            @Param("since") LocalDateTime since
+    );
+
+    // (qrCode, id) of reservations with the given QR codes
+    @Query("SELECT r.qrCode, r.id FROM Reservation r WHERE r.qrCode IN :qrCodes")
+    List<Object[]> findIdsByQrCodes(@Param("qrCodes") Collection<String> qrCodes);
+
+    // (id, createdAt) of every PENDING reservation (hold expiry timers)
+    @Query("SELECT r.id, r.createdAt FROM Reservation r WHERE r.status = 'PENDING'")
+    List<Object[]> findPendingHolds();
+
+    // The given reservations that are still PENDING, locked until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id IN :ids AND r.status = 'PENDING'")
+    List<Reservation> findPendingByIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    // (id, endDate) of CONFIRMED reservations that ended before the given day, after a keyset position
+    @Query("SELECT r.id, r.endDate FROM Reservation r WHERE r.status = 'CONFIRMED' AND r.endDate < :today " +
+           "AND (r.endDate > :afterEndDate OR (r.endDate = :afterEndDate AND r.id > :afterId)) " +
+           "ORDER BY r.endDate, r.id")
+    List<Object[]> findCompletableAfter(
+            @Param("today") LocalDate today,
+            @Param("afterEndDate") LocalDate afterEndDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // The given reservations that are still CONFIRMED, locked until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id IN :ids AND r.status = 'CONFIRMED'")
+    List<Reservation> findConfirmedByIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Mark reservations COMPLETED
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'COMPLETED', r.updatedAt = :now WHERE r.id IN :ids")
+    int markCompleted(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // End date of the oldest CONFIRMED reservation that ended before the given day
+    @Query("SELECT MIN(r.endDate) FROM Reservation r WHERE r.status = 'CONFIRMED' AND r.endDate < :today")
+    LocalDate findOldestCompletableEndDate(@Param("today") LocalDate today);
 }
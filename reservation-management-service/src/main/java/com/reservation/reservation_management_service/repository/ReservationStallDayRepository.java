@@ -0,0 +1,30 @@
+package com.reservation.reservation_management_service.repository;
+
+import com.reservation.reservation_management_service.entity.ReservationStallDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ReservationStallDayRepository extends JpaRepository<ReservationStallDay, ReservationStallDay.Key> {
+
+    // Free the stall days of the given reservations
+    @Modifying
+    @Query("DELETE FROM ReservationStallDay d WHERE d.reservationId IN :reservationIds")
+    int deleteByReservationIds(@Param("reservationIds") Collection<Long> reservationIds);
+
+    // Create the stall days of all active reservations made before the table existed (skips days already held)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO reservation_stall_days (stall_id, day, reservation_id) " +
+                   "WITH RECURSIVE days (reservation_id, day, end_date) AS (" +
+                   "SELECT id, start_date, end_date FROM reservations WHERE status IN ('PENDING', 'CONFIRMED') " +
+                   "UNION ALL " +
+                   "SELECT reservation_id, day + INTERVAL 1 DAY, end_date FROM days WHERE day < end_date) " +
+                   "SELECT s.stall_id, d.day, d.reservation_id FROM days d " +
+                   "JOIN reservation_stalls s ON s.reservation_id = d.reservation_id", nativeQuery = true)
+    int backfillFromActiveReservations();
+}
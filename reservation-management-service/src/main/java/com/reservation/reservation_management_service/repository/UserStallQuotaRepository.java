@@ -0,0 +1,33 @@
+package com.reservation.reservation_management_service.repository;
+
+import com.reservation.reservation_management_service.entity.UserStallQuota;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStallQuotaRepository extends JpaRepository<UserStallQuota, Long> {
+
+    // Take stalls from a user's quota only if the result stays within the limit
+    @Modifying
+    @Query("UPDATE UserStallQuota q SET q.used = q.used + :stalls " +
+           "WHERE q.userId = :userId AND q.used + :stalls <= :maxStalls")
+    int tryIncrement(@Param("userId") Long userId, @Param("stalls") int stalls, @Param("maxStalls") int maxStalls);
+
+    // Give stalls back to a user's quota
+    @Modifying
+    @Query("UPDATE UserStallQuota q SET q.used = CASE WHEN q.used > :stalls THEN q.used - :stalls ELSE 0 END " +
+           "WHERE q.userId = :userId")
+    int decrement(@Param("userId") Long userId, @Param("stalls") int stalls);
+
+    // Create a user's counter from their active reservations (no-op if it already exists)
+    @Modifying
+    @Query(value = "INSERT INTO user_stall_quota (user_id, used) " +
+                   "SELECT :userId, COUNT(s.stall_id) FROM reservations r " +
+                   "JOIN reservation_stalls s ON s.reservation_id = r.id " +
+                   "WHERE r.user_id = :userId AND r.status IN ('PENDING', 'CONFIRMED') " +
+                   "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    int initialize(@Param("userId") Long userId);
+}
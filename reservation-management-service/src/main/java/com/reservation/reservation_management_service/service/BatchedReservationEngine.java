@@ -0,0 +1,463 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.dto.ReservationRequestDTO;
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.entity.ReservationIdempotencyKey;
+import com.reservation.reservation_management_service.entity.ReservationStallDay;
+import com.reservation.reservation_management_service.entity.UserStallQuota;
+import com.reservation.reservation_management_service.exception.InvalidReservationException;
+import com.reservation.reservation_management_service.repository.ReservationIdempotencyKeyRepository;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import com.reservation.reservation_management_service.repository.ReservationStallDayRepository;
+import com.reservation.reservation_management_service.repository.UserStallQuotaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional create path for the opening rush: incoming create requests are collected into
+ * micro-batches (up to max-batch-size requests or max-wait-ms after the first one) and a single
+ * thread commits each batch in one transaction, so the commit and lock cost is shared.
+ * <p>
+ * Within a batch, requests are decided in arrival order entirely in memory: stall/date conflicts
+ * against the occupancy table, the availability index, one conflict query for the whole batch and
+ * the requests accepted before them, and the per-user stall quota. Rejected requests fail on their
+ * own; accepted ones are inserted together in the batch transaction. If the batch transaction fails
+ * (for example a duplicate Idempotency-Key committed elsewhere), its requests are retried one by
+ * one through {@link ReservationService}, so one bad request never fails the others.
+ * <p>
+ * Callers wait at most result-timeout-ms for their outcome, and everything still queued or in
+ * flight is failed when the worker stops, so a dead worker never leaves requests hanging.
+ * Post-commit work of accepted requests runs on a separate thread, so the next batch never waits for it.
+ */
+@Component
+@Slf4j
+public class BatchedReservationEngine {
+
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final UserStallQuotaRepository userStallQuotaRepository;
+    private final ReservationIdempotencyKeyRepository idempotencyKeyRepository;
+    private final ReservationStallDayRepository stallDayRepository;
+    private final ReservationIdGenerator reservationIdGenerator;
+    private final StallCache stallCache;
+    private final StallOccupancyTable stallOccupancyTable;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+    private final Counter fallbacks;
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitMs;
+    private final long resultTimeoutMs;
+
+    private final BlockingQueue<Submission> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread worker;
+
+    private final ExecutorService committedExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-batcher-committed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BatchedReservationEngine(
+            ReservationService reservationService,
+            ReservationRepository reservationRepository,
+            UserStallQuotaRepository userStallQuotaRepository,
+            ReservationIdempotencyKeyRepository idempotencyKeyRepository,
+            ReservationStallDayRepository stallDayRepository,
+            ReservationIdGenerator reservationIdGenerator,
+            StallCache stallCache,
+            StallOccupancyTable stallOccupancyTable,
+            StallAvailabilityIndex stallAvailabilityIndex,
+            OutboxService outboxService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.batching.enabled:false}") boolean enabled,
+            @Value("${reservation.batching.max-batch-size:64}") int maxBatchSize,
+            @Value("${reservation.batching.max-wait-ms:5}") long maxWaitMs,
+            @Value("${reservation.batching.result-timeout-ms:10000}") long resultTimeoutMs
+    ) {
+        this.reservationService = reservationService;
+        this.reservationRepository = reservationRepository;
+        this.userStallQuotaRepository = userStallQuotaRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.stallDayRepository = stallDayRepository;
+        this.reservationIdGenerator = reservationIdGenerator;
+        this.stallCache = stallCache;
+        this.stallOccupancyTable = stallOccupancyTable;
+        this.stallAvailabilityIndex = stallAvailabilityIndex;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSizes = meterRegistry.summary("reservation.batching.batch-size");
+        this.commitTimer = meterRegistry.timer("reservation.batching.commit");
+        this.fallbacks = meterRegistry.counter("reservation.batching.fallbacks");
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMs = maxWaitMs;
+        this.resultTimeoutMs = resultTimeoutMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "reservation-batcher");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Batched reservation engine started (max {} requests / {} ms per batch)", maxBatchSize, maxWaitMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+        committedExecutor.shutdown();
+    }
+
+    /**
+     * Queue a create request for the next batch and wait for its own outcome
+     */
+    public ReservationResponseDTO createReservation(
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName,
+            ReservationIdempotencyKey idempotencyKey
+    ) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidReservationException("End date must be after start date");
+        }
+
+        Submission submission = new Submission(request, userId, userEmail, companyName, idempotencyKey,
+                new CompletableFuture<>());
+        queue.add(submission);
+        if (!running) {
+            // The worker may have drained the queue before this submission was added
+            failPending(queue);
+        }
+        try {
+            return submission.result().get(resultTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Reservation batch failed", e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued or in flight: it may yet be committed, a retry with the same Idempotency-Key is safe
+            submission.result().cancel(false);
+            throw new IllegalStateException("Reservation was not decided within " + resultTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the reservation batch");
+        }
+    }
+
+    private void run() {
+        List<Submission> batch = new ArrayList<>(maxBatchSize);
+        try {
+            loop(batch);
+        } finally {
+            // Interrupted, or killed by an Error: nobody is left to decide these
+            running = false;
+            failPending(batch);
+            failPending(queue);
+            log.info("Batched reservation engine stopped");
+        }
+    }
+
+    private void loop(List<Submission> batch) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    Submission next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            try {
+                process(batch);
+            } catch (RuntimeException e) {
+                log.error("Reservation batch failed unexpectedly", e);
+                batch.forEach(submission -> submission.result().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private static void failPending(Collection<Submission> submissions) {
+        for (Iterator<Submission> it = submissions.iterator(); it.hasNext(); ) {
+            it.next().result().completeExceptionally(new IllegalStateException("Reservation engine stopped"));
+            it.remove();
+        }
+    }
+
+    private void process(List<Submission> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+
+        // Prices for the whole batch in one lookup, before any locks are taken
+        Set<String> allStallIds = new LinkedHashSet<>();
+        batch.forEach(submission -> allStallIds.addAll(submission.request().getStallIds()));
+        Map<String, StallServiceClient.StallDTO> stalls;
+        try {
+            stalls = stallCache.getStalls(allStallIds);
+        } catch (Exception e) {
+            log.error("Failed to fetch stall details for stalls: {}", allStallIds, e);
+            batch.forEach(submission -> submission.result().completeExceptionally(
+                    new InvalidReservationException("Unable to fetch stall details")));
+            return;
+        }
+
+        List<Accepted> accepted = new ArrayList<>();
+        Map<Submission, RuntimeException> rejected = new IdentityHashMap<>();
+        try {
+            commitTimer.record(() -> transactionTemplate.executeWithoutResult(
+                    status -> decideAndInsert(batch, allStallIds, stalls, accepted, rejected)));
+        } catch (RuntimeException e) {
+            // Nothing was committed, and rejections may have been caused by requests that were not:
+            // give back the claims and decide every request again, one by one in arrival order
+            log.warn("Reservation batch of {} failed, retrying its requests individually", batch.size(), e);
+            fallbacks.increment();
+            for (Accepted entry : accepted) {
+                release(entry.submission().request());
+                if (entry.submission().idempotencyKey() != null) {
+                    entry.submission().idempotencyKey().setId(null);
+                }
+            }
+            batch.forEach(this::retryIndividually);
+            return;
+        }
+
+        // The caller is answered once its post-commit work is done, like on the one-by-one path
+        for (Accepted entry : accepted) {
+            try {
+                committedExecutor.execute(() -> committed(entry));
+            } catch (RejectedExecutionException shuttingDown) {
+                committed(entry);
+            }
+        }
+        rejected.forEach((submission, reason) -> submission.result().completeExceptionally(reason));
+    }
+
+    /**
+     * Decide every request of the batch in arrival order and insert the accepted ones; runs in the batch transaction.
+     * Outcomes are collected in {@code accepted} and {@code rejected} and reported once the transaction has ended.
+     */
+    private void decideAndInsert(
+            List<Submission> batch,
+            Set<String> allStallIds,
+            Map<String, StallServiceClient.StallDTO> stalls,
+            List<Accepted> accepted,
+            Map<Submission, RuntimeException> rejected
+    ) {
+        // Committed reservations that may conflict with anything in the batch, in one query
+        LocalDate from = batch.stream().map(s -> s.request().getStartDate()).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = batch.stream().map(s -> s.request().getEndDate()).max(LocalDate::compareTo).orElseThrow();
+        Map<String, List<LocalDate[]>> taken = new HashMap<>();
+        for (Object[] row : reservationRepository.findActiveStallRanges(allStallIds, from, to)) {
+            taken.computeIfAbsent((String) row[0], id -> new ArrayList<>())
+                    .add(new LocalDate[]{(LocalDate) row[1], (LocalDate) row[2]});
+        }
+
+        Map<Long, Integer> quotaUsed = loadQuotas(batch);
+        Map<Long, Integer> quotaTaken = new HashMap<>();
+        int maxStalls = reservationService.getMaxStallsPerUser();
+
+        for (Submission submission : batch) {
+            ReservationRequestDTO request = submission.request();
+            List<String> conflicting = stallOccupancyTable.claim(
+                    request.getStallIds(), request.getStartDate(), request.getEndDate());
+            if (!conflicting.isEmpty()) {
+                rejected.put(submission, ReservationService.stallsNotAvailable(conflicting));
+                continue;
+            }
+            try {
+                if (stallAvailabilityIndex.isReady()) {
+                    conflicting = stallAvailabilityIndex.findConflictingStallIds(
+                            request.getStallIds(), request.getStartDate(), request.getEndDate());
+                }
+                if (conflicting.isEmpty()) {
+                    conflicting = findConflicting(taken, request);
+                }
+                if (!conflicting.isEmpty()) {
+                    throw ReservationService.stallsNotAvailable(conflicting);
+                }
+
+                int used = quotaUsed.get(submission.userId()) + quotaTaken.getOrDefault(submission.userId(), 0);
+                if (used + request.getStallIds().size() > maxStalls) {
+                    throw reservationService.quotaExceeded(used);
+                }
+
+                Long reservationId = reservationIdGenerator.nextId();
+                Reservation reservation = reservationService.buildReservation(request, reservationId,
+                        submission.userId(), submission.userEmail(), submission.companyName(), stalls);
+                quotaTaken.merge(submission.userId(), request.getStallIds().size(), Integer::sum);
+                for (String stallId : request.getStallIds()) {
+                    taken.computeIfAbsent(stallId, id -> new ArrayList<>())
+                            .add(new LocalDate[]{request.getStartDate(), request.getEndDate()});
+                }
+                accepted.add(new Accepted(submission, reservation));
+            } catch (RuntimeException e) {
+                release(request);
+                rejected.put(submission, e);
+            }
+        }
+
+        // The counters were read in this transaction; the conditional update still guards against
+        // writers outside the engine, and failing it rolls the batch back to the one-by-one path
+        quotaTaken.forEach((userId, stallCount) -> {
+            if (userStallQuotaRepository.tryIncrement(userId, stallCount, maxStalls) == 0) {
+                throw new IllegalStateException("Stall quota of user " + userId + " changed during the batch");
+            }
+        });
+
+        List<ReservationIdempotencyKey> keys = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        List<ReservationStallDay> days = new ArrayList<>();
+        for (Accepted entry : accepted) {
+            Reservation reservation = entry.reservation();
+            days.addAll(ReservationService.stallDays(reservation.getId(), reservation.getStallIds(),
+                    reservation.getStartDate(), reservation.getEndDate()));
+            ReservationIdempotencyKey key = entry.submission().idempotencyKey();
+            if (key != null) {
+                key.setReservationId(entry.reservation().getId());
+                keys.add(key);
+            }
+            reservations.add(entry.reservation());
+        }
+        // Reservations (pre-assigned IDs), their stalls and the stall days go out as JDBC batches
+        // (hibernate.jdbc.batch_size) at flush. Idempotency keys and outbox events use IDENTITY IDs,
+        // which Hibernate cannot batch: they are inserted one statement each, still in this one
+        // transaction. A stall day taken by a booking outside the engine fails the unique key and
+        // sends the batch down the one-by-one path
+        idempotencyKeyRepository.saveAll(keys);
+        stallDayRepository.saveAll(days);
+        reservationRepository.saveAll(reservations);
+        for (Accepted entry : accepted) {
+            // Holds publish theirs when confirmed
+            if (entry.reservation().getStatus() == Reservation.ReservationStatus.CONFIRMED) {
+                outboxService.reservationCreated(entry.reservation(), stalls);
+            }
+        }
+        log.info("Reservation batch committed: {} of {} requests accepted", accepted.size(), batch.size());
+    }
+
+    /**
+     * Current stall counters of the batch's users, creating missing ones from their reservations
+     */
+    private Map<Long, Integer> loadQuotas(List<Submission> batch) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        batch.forEach(submission -> userIds.add(submission.userId()));
+
+        Map<Long, Integer> used = new HashMap<>();
+        for (UserStallQuota quota : userStallQuotaRepository.findAllById(userIds)) {
+            used.put(quota.getUserId(), quota.getUsed());
+        }
+        for (Long userId : userIds) {
+            if (!used.containsKey(userId)) {
+                userStallQuotaRepository.initialize(userId);
+                used.put(userId, userStallQuotaRepository.findById(userId).map(UserStallQuota::getUsed).orElse(0));
+            }
+        }
+        return used;
+    }
+
+    private static List<String> findConflicting(Map<String, List<LocalDate[]>> taken, ReservationRequestDTO request) {
+        List<String> conflicting = new ArrayList<>();
+        for (String stallId : request.getStallIds()) {
+            for (LocalDate[] range : taken.getOrDefault(stallId, List.of())) {
+                if (!range[0].isAfter(request.getEndDate()) && !range[1].isBefore(request.getStartDate())
+                        && !conflicting.contains(stallId)) {
+                    conflicting.add(stallId);
+                }
+            }
+        }
+        return conflicting;
+    }
+
+    private void committed(Accepted entry) {
+        try {
+            reservationService.reservationCommitted(entry.reservation());
+        } catch (RuntimeException e) {
+            log.error("Post-commit work failed for reservation {}", entry.reservation().getId(), e);
+        }
+        entry.submission().result().complete(ReservationResponseDTO.fromEntity(entry.reservation()));
+    }
+
+    private void retryIndividually(Submission submission) {
+        try {
+            submission.result().complete(reservationService.createReservation(submission.request(),
+                    submission.userId(), submission.userEmail(), submission.companyName(), submission.idempotencyKey()));
+        } catch (RuntimeException e) {
+            submission.result().completeExceptionally(e);
+        }
+    }
+
+    private void release(ReservationRequestDTO request) {
+        stallOccupancyTable.release(request.getStallIds(), request.getStartDate(), request.getEndDate());
+    }
+
+    private record Submission(
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName,
+            ReservationIdempotencyKey idempotencyKey,
+            CompletableFuture<ReservationResponseDTO> result
+    ) {
+    }
+
+    private record Accepted(Submission submission, Reservation reservation) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.dto.GateCheckInBatchResultDTO;
+import com.reservation.reservation_management_service.dto.GateCheckInDTO;
+import com.reservation.reservation_management_service.dto.GatePassBundleDTO;
+import com.reservation.reservation_management_service.dto.GatePassDTO;
+import com.reservation.reservation_management_service.dto.GateRevocationsDTO;
+import com.reservation.reservation_management_service.entity.GateCheckIn;
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.GateCheckInRepository;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Data the entry gates sync so they can check passes without calling this service per scan,
+ * and ingestion of the check-ins they record while offline
+ */
+@Service
+@Slf4j
+public class GateService {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final ReservationRepository reservationRepository;
+    private final GateCheckInRepository gateCheckInRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Changes are timestamped before their transaction commits, so each delta re-reads a short
+    // window before the client's version; gates merge what they receive, so repeats are harmless
+    private final Duration syncOverlap;
+
+    public GateService(
+            ReservationRepository reservationRepository,
+            GateCheckInRepository gateCheckInRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${reservation.gate.sync-overlap:PT2M}") Duration syncOverlap
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.gateCheckInRepository = gateCheckInRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.syncOverlap = syncOverlap;
+    }
+
+    /**
+     * Cancelled reservation IDs, all of them or only those revoked since a previous version
+     */
+    @Transactional(readOnly = true)
+    public GateRevocationsDTO getRevocations(Long since) {
+        boolean full = isFull(since);
+        long version = full ? 0 : since;
+        List<Long> revoked = new ArrayList<>();
+        for (Object[] row : reservationRepository.findCancelledSince(changedAfter(since))) {
+            revoked.add((Long) row[0]);
+            version = Math.max(version, toVersion((LocalDateTime) row[1]));
+        }
+        revoked.sort(null);
+
+        return GateRevocationsDTO.builder()
+                .version(version)
+                .full(full)
+                .revokedReservationIds(revoked)
+                .build();
+    }
+
+    /**
+     * Confirmed passes admitted on a date, all of them or only the changes since a previous version
+     */
+    @Transactional(readOnly = true)
+    public GatePassBundleDTO getPasses(LocalDate date, Long since) {
+        boolean full = isFull(since);
+        long version = full ? 0 : since;
+        Map<Long, GatePassDTO> passes = new LinkedHashMap<>();
+        List<Long> removed = new ArrayList<>();
+        for (Object[] row : reservationRepository.findGatePassesChangedSince(date, changedAfter(since))) {
+            Long reservationId = (Long) row[0];
+            if (row[3] == Reservation.ReservationStatus.CONFIRMED) {
+                passes.put(reservationId, GatePassDTO.builder()
+                        .reservationId(reservationId)
+                        .qrCode((String) row[1])
+                        .companyName((String) row[2])
+                        .stallIds(new ArrayList<>())
+                        .build());
+            } else if (!full) {
+                removed.add(reservationId);
+            }
+            version = Math.max(version, toVersion((LocalDateTime) row[4]));
+        }
+
+        if (!passes.isEmpty()) {
+            for (Object[] row : reservationRepository.findStallIdsByReservationIds(passes.keySet())) {
+                passes.get((Long) row[0]).getStallIds().add((String) row[1]);
+            }
+        }
+
+        return GatePassBundleDTO.builder()
+                .date(date)
+                .version(version)
+                .full(full)
+                .passes(new ArrayList<>(passes.values()))
+                .removedReservationIds(removed)
+                .build();
+    }
+
+    /**
+     * Store a batch of check-ins uploaded by a gate. Scans already stored (same QR code and scan time)
+     * are counted as duplicates, so a gate can safely re-send a batch it got no answer for.
+     */
+    public GateCheckInBatchResultDTO recordCheckIns(String gateId, List<GateCheckInDTO> checkIns) {
+        // Stored with microsecond precision, so compare at that precision too
+        Set<GateCheckIn.Key> scans = new LinkedHashSet<>();
+        for (GateCheckInDTO checkIn : checkIns) {
+            scans.add(new GateCheckIn.Key(checkIn.getQrCode(), checkIn.getScannedAt().truncatedTo(ChronoUnit.MICROS)));
+        }
+
+        GateCheckInBatchResultDTO result;
+        try {
+            result = transactionTemplate.execute(status -> storeNewScans(gateId, scans));
+        } catch (DataIntegrityViolationException e) {
+            // The same scans were stored concurrently (a gate retrying an upload still in flight);
+            // the retry sees them and counts them as duplicates
+            log.debug("Check-in batch from gate {} raced with another upload, retrying", gateId);
+            result = transactionTemplate.execute(status -> storeNewScans(gateId, scans));
+        }
+
+        result.setReceived(checkIns.size());
+        result.setDuplicates(result.getDuplicates() + checkIns.size() - scans.size());
+        return result;
+    }
+
+    private GateCheckInBatchResultDTO storeNewScans(String gateId, Set<GateCheckIn.Key> scans) {
+        Set<String> qrCodes = new HashSet<>();
+        for (GateCheckIn.Key scan : scans) {
+            qrCodes.add(scan.getQrCode());
+        }
+
+        Set<GateCheckIn.Key> stored = new HashSet<>();
+        for (Object[] row : gateCheckInRepository.findScansByQrCodes(qrCodes)) {
+            stored.add(new GateCheckIn.Key((String) row[0], (LocalDateTime) row[1]));
+        }
+        Map<String, Long> reservationIds = new HashMap<>();
+        for (Object[] row : reservationRepository.findIdsByQrCodes(qrCodes)) {
+            reservationIds.put((String) row[0], (Long) row[1]);
+        }
+
+        List<GateCheckIn> newCheckIns = new ArrayList<>();
+        Set<String> unknown = new LinkedHashSet<>();
+        int duplicates = 0;
+        for (GateCheckIn.Key scan : scans) {
+            Long reservationId = reservationIds.get(scan.getQrCode());
+            if (reservationId == null) {
+                unknown.add(scan.getQrCode());
+            } else if (stored.contains(scan)) {
+                duplicates++;
+            } else {
+                newCheckIns.add(GateCheckIn.builder()
+                        .qrCode(scan.getQrCode())
+                        .scannedAt(scan.getScannedAt())
+                        .reservationId(reservationId)
+                        .gateId(gateId)
+                        .build());
+            }
+        }
+        gateCheckInRepository.saveAllAndFlush(newCheckIns);
+
+        return GateCheckInBatchResultDTO.builder()
+                .recorded(newCheckIns.size())
+                .duplicates(duplicates)
+                .unknownQrCodes(new ArrayList<>(unknown))
+                .build();
+    }
+
+    private static boolean isFull(Long since) {
+        return since == null || since <= 0;
+    }
+
+    private LocalDateTime changedAfter(Long since) {
+        return isFull(since) ? BEGINNING : toDateTime(since).minus(syncOverlap);
+    }
+
+    private static LocalDateTime toDateTime(long version) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(version), ZoneId.systemDefault());
+    }
+
+    private static long toVersion(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
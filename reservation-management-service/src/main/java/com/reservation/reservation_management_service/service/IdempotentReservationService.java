@@ -0,0 +1,212 @@
+package com.reservation.reservation_management_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reservation.reservation_management_service.dto.ReservationRequestDTO;
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
+import com.reservation.reservation_management_service.entity.ReservationIdempotencyKey;
+import com.reservation.reservation_management_service.exception.InvalidReservationException;
+import com.reservation.reservation_management_service.repository.ReservationIdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes reservation creation safe to retry with an Idempotency-Key header.
+ * A repeated key is answered with the reservation the first request created instead of booking again.
+ * Keys are stored in the database with the reservation and kept in a bounded in-memory cache in front;
+ * a duplicate that arrives while the original is still running waits for its outcome.
+ */
+@Service
+@Slf4j
+public class IdempotentReservationService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final ReservationService reservationService;
+    private final BatchedReservationEngine batchedReservationEngine;
+    private final ReservationIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter replays;
+    private final long retentionHours;
+
+    private final Cache<String, StoredKey> completed;
+    private final Map<String, CompletableFuture<ReservationResponseDTO>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentReservationService(
+            ReservationService reservationService,
+            BatchedReservationEngine batchedReservationEngine,
+            ReservationIdempotencyKeyRepository idempotencyKeyRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${reservation.idempotency.retention-hours:24}") long retentionHours
+    ) {
+        this.reservationService = reservationService;
+        this.batchedReservationEngine = batchedReservationEngine;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.replays = meterRegistry.counter("reservation.idempotency.replays");
+        this.retentionHours = retentionHours;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofHours(retentionHours))
+                .build();
+    }
+
+    /**
+     * Create a reservation, or return the one already created for the same Idempotency-Key
+     */
+    public ReservationResponseDTO createReservation(
+            String idempotencyKey,
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName
+    ) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return create(request, userId, userEmail, companyName, null);
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidReservationException(
+                    "Idempotency-Key must not be longer than " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = userId + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        StoredKey stored = completed.getIfPresent(cacheKey);
+        if (stored != null) {
+            return replay(stored, requestHash, userId);
+        }
+
+        CompletableFuture<ReservationResponseDTO> original = new CompletableFuture<>();
+        CompletableFuture<ReservationResponseDTO> running = inFlight.putIfAbsent(cacheKey, original);
+        if (running != null) {
+            log.info("Waiting for in-flight request with idempotency key {} of user {}", idempotencyKey, userId);
+            ReservationResponseDTO response = await(running);
+            return replay(new StoredKey(requestHash, response.getId()), requestHash, userId);
+        }
+
+        try {
+            ReservationResponseDTO response = execute(cacheKey, idempotencyKey, requestHash, request,
+                    userId, userEmail, companyName);
+            original.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            original.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, original);
+        }
+    }
+
+    /**
+     * Delete keys older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${reservation.idempotency.purge-interval-ms:3600000}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} idempotency keys", deleted);
+        }
+    }
+
+    private ReservationResponseDTO execute(
+            String cacheKey,
+            String idempotencyKey,
+            String requestHash,
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName
+    ) {
+        StoredKey stored = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .map(StoredKey::of)
+                .orElse(null);
+        if (stored == null) {
+            ReservationIdempotencyKey key = ReservationIdempotencyKey.builder()
+                    .userId(userId)
+                    .idempotencyKey(idempotencyKey)
+                    .requestHash(requestHash)
+                    .build();
+            try {
+                ReservationResponseDTO response = create(request, userId, userEmail, companyName, key);
+                completed.put(cacheKey, new StoredKey(requestHash, response.getId()));
+                return response;
+            } catch (DataIntegrityViolationException e) {
+                // The same key was committed by a request on another instance in the meantime
+                stored = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                        .map(StoredKey::of)
+                        .orElseThrow(() -> e);
+            }
+        }
+        completed.put(cacheKey, stored);
+        return replay(stored, requestHash, userId);
+    }
+
+    private ReservationResponseDTO create(
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName,
+            ReservationIdempotencyKey key
+    ) {
+        if (batchedReservationEngine.isEnabled()) {
+            return batchedReservationEngine.createReservation(request, userId, userEmail, companyName, key);
+        }
+        return reservationService.createReservation(request, userId, userEmail, companyName, key);
+    }
+
+    private ReservationResponseDTO replay(StoredKey stored, String requestHash, Long userId) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new InvalidReservationException("Idempotency-Key was already used for a different reservation request");
+        }
+        replays.increment();
+        return reservationService.getReservationById(stored.reservationId(), userId);
+    }
+
+    private static ReservationResponseDTO await(CompletableFuture<ReservationResponseDTO> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String hash(ReservationRequestDTO request) {
+        String fingerprint = String.join("|",
+                String.valueOf(request.getStallIds()),
+                String.valueOf(request.getStartDate()),
+                String.valueOf(request.getEndDate()),
+                String.valueOf(request.getNotes()),
+                String.valueOf(request.getGenres()));
+        return DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record StoredKey(String requestHash, Long reservationId) {
+
+        static StoredKey of(ReservationIdempotencyKey key) {
+            return new StoredKey(key.getRequestHash(), key.getReservationId());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.entity.OutboxEvent;
+import com.reservation.reservation_management_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox events to Kafka in batches. Each batch is locked with SKIP LOCKED so several
+ * instances can relay in parallel, sent keyed by aggregate (reservation) ID, and marked published
+ * only once Kafka has acknowledged every record, giving at-least-once delivery.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    @Value("${reservation.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${reservation.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${reservation.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, String> kafkaTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = meterRegistry.counter("reservation.outbox.published");
+        this.failedCounter = meterRegistry.counter("reservation.outbox.failed");
+        Gauge.builder("reservation.outbox.pending", outboxEventRepository, OutboxEventRepository::countByPublishedAtIsNull)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish pending events until the outbox is drained or a batch fails
+     */
+    @Scheduled(fixedDelayString = "${reservation.outbox.poll-interval-ms:500}")
+    public void relay() {
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    /**
+     * Delete events that were published longer ago than the retention period
+     */
+    @Scheduled(fixedDelayString = "${reservation.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockUnpublishedBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getAggregateId(), event.getPayload()));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Failed to publish outbox batch of {} events, will retry: {}", batch.size(), e.getMessage());
+            batch.forEach(event -> event.setAttempts(event.getAttempts() + 1));
+            failedCounter.increment(batch.size());
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        batch.forEach(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setPublishedAt(now);
+        });
+        publishedCounter.increment(batch.size());
+        log.debug("Published {} outbox events", batch.size());
+        return batch.size();
+    }
+}
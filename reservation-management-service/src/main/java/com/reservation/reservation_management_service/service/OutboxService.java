@@ -0,0 +1,85 @@
+package com.reservation.reservation_management_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservation.reservation_management_service.dto.ReservationCreatedEvent;
+import com.reservation.reservation_management_service.entity.OutboxEvent;
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes reservation events to the outbox table as part of the caller's transaction
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String RESERVATION_CREATED = "RESERVATION_CREATED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${reservation.kafka.topics.reservation-created}")
+    private String reservationCreatedTopic;
+
+    /**
+     * Record a reservation created event, keyed by reservation ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservationCreated(Reservation reservation, Map<String, StallServiceClient.StallDTO> stalls) {
+        outboxEventRepository.save(buildReservationCreated(reservation, stalls));
+    }
+
+    /**
+     * Build (without saving) the outbox row for a reservation created event
+     */
+    public OutboxEvent buildReservationCreated(Reservation reservation, Map<String, StallServiceClient.StallDTO> stalls) {
+        ReservationCreatedEvent event = ReservationCreatedEvent.builder()
+                .reservationId(String.valueOf(reservation.getId()))
+                .userId(String.valueOf(reservation.getUserId()))
+                .userEmail(reservation.getUserEmail())
+                .userName(reservation.getCompanyName() != null ? reservation.getCompanyName() : reservation.getUserEmail())
+                .businessName(reservation.getCompanyName())
+                .stalls(reservation.getStallIds().stream()
+                        .map(stallId -> toStallInfo(stallId, stalls.get(stallId)))
+                        .collect(Collectors.toList()))
+                .totalAmount(reservation.getTotalPrice().doubleValue())
+                .qrCode(reservation.getQrCode())
+                .startDate(reservation.getStartDate())
+                .endDate(reservation.getEndDate())
+                .build();
+
+        return OutboxEvent.builder()
+                .aggregateId(String.valueOf(reservation.getId()))
+                .eventType(RESERVATION_CREATED)
+                .topic(reservationCreatedTopic)
+                .payload(toJson(event))
+                .build();
+    }
+
+    private ReservationCreatedEvent.StallInfo toStallInfo(String stallId, StallServiceClient.StallDTO stall) {
+        BigDecimal price = stall != null ? stall.getPricePerDay() : null;
+        return ReservationCreatedEvent.StallInfo.builder()
+                .stallId(stallId)
+                .stallName(stall != null && stall.getStallCode() != null ? stall.getStallCode() : stallId)
+                .price(price != null ? price.doubleValue() : null)
+                .build();
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox event", e);
+        }
+    }
+}
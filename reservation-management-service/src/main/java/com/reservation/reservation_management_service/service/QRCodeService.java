@@ -1,35 +1,53 @@
 package com.reservation.reservation_management_service.service;
 
+import com.bookfair.apicontracts.qr.QRCodePngEncoder;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
 import java.util.Base64;
-import java.util.UUID;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class QRCodeService {
 
+    // PNG encoders keep their deflater and buffers between images
+    private static final ThreadLocal<QRCodePngEncoder> ENCODER = ThreadLocal.withInitial(QRCodePngEncoder::new);
+
+    private final QRPassCodec qrPassCodec;
+
     @Value("${file.upload.dir:./uploads/qrcodes}")
     private String uploadDir;
 
     /**
-     * Generate a unique QR code string
+     * Generate the signed QR pass text for a reservation
+     */
+    public String generateQRCodeString(Long reservationId, Long userId, List<String> stallIds,
+                                       LocalDate startDate, LocalDate endDate) {
+        return qrPassCodec.sign(reservationId, userId, stallIds, startDate, endDate);
+    }
+
+    /**
+     * Resolve the file path a QR code image is (or will be) stored at
      */
-    public String generateQRCodeString(Long reservationId, Long userId) {
-        return String.format("BOOKFAIR-2026-RES-%d-USER-%d-%s", 
-                reservationId, userId, UUID.randomUUID().toString().substring(0, 8));
+    public String resolveQRCodePath(String fileName) {
+        return Paths.get(uploadDir).resolve(fileName + ".png").toString();
     }
 
     /**
@@ -39,9 +57,9 @@ public class QRCodeService {
         int width = 300;
         int height = 300;
 
-        // Create QR code
+        // Create QR code, one bit per module; scaled up while writing the PNG
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(qrCodeText, BarcodeFormat.QR_CODE, width, height);
+        BitMatrix modules = qrCodeWriter.encode(qrCodeText, BarcodeFormat.QR_CODE, 0, 0);
 
         // Ensure upload directory exists
         Path uploadPath = Paths.get(uploadDir);
@@ -49,9 +67,21 @@ public class QRCodeService {
             Files.createDirectories(uploadPath);
         }
 
-        // Save to file
+        // Save to a temporary file and rename it into place, so a concurrent GET never serves a partial PNG
         Path filePath = uploadPath.resolve(fileName + ".png");
-        MatrixToImageWriter.writeToPath(bitMatrix, "PNG", filePath);
+        Path tempPath = Files.createTempFile(uploadPath, fileName + ".", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempPath)) {
+                ENCODER.get().write(modules, width, height, out);
+            }
+            try {
+                Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
 
         return filePath.toString();
     }
@@ -64,10 +94,10 @@ public class QRCodeService {
         int height = 300;
 
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(qrCodeText, BarcodeFormat.QR_CODE, width, height);
+        BitMatrix modules = qrCodeWriter.encode(qrCodeText, BarcodeFormat.QR_CODE, 0, 0);
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024);
+        ENCODER.get().write(modules, width, height, outputStream);
 
         byte[] qrCodeBytes = outputStream.toByteArray();
         return Base64.getEncoder().encodeToString(qrCodeBytes);
@@ -81,4 +111,18 @@ public class QRCodeService {
         byte[] fileContent = Files.readAllBytes(path);
         return Base64.getEncoder().encodeToString(fileContent);
     }
+
+    /**
+     * Strong ETag for a QR code image. The image depends only on the QR code text, which never
+     * changes for a reservation, so the ETag is stable for the lifetime of the reservation.
+     */
+    public String imageETag(String qrCodeText) {
+        return "\"qr-" + DigestUtils.md5DigestAsHex(qrCodeText.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * A rendered QR code image on disk
+     */
+    public record QRCodeImage(String qrCode, Path path, String eTag) {
+    }
 }
@@ -0,0 +1,110 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.exception.InvalidReservationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signed QR pass format, verifiable offline by the entry gates (see QRPassVerifier in api-contracts).
+ * <pre>
+ * BF2.&lt;base64url(body)&gt;.&lt;base64url(first 16 bytes of HMAC-SHA256(key, "BF2." + base64url(body)))&gt;
+ * body = keyId|reservationId|userId|stallId,stallId,...|startDate|endDate
+ * </pre>
+ * Keys are configured as {@code keyId:secret} pairs; the first one signs, all of them verify,
+ * so keys can be rotated without invalidating passes already issued.
+ */
+@Component
+public class QRPassCodec {
+
+    public static final String PREFIX = "BF2.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 16;
+
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+    private final String signingKeyId;
+
+    public QRPassCodec(@Value("${reservation.qr.signing-keys}") List<String> signingKeys) {
+        for (String entry : signingKeys) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException("QR signing keys must be configured as keyId:secret");
+            }
+            keys.put(entry.substring(0, separator).trim(), new SecretKeySpec(
+                    entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one QR signing key is required");
+        }
+        this.signingKeyId = keys.keySet().iterator().next();
+    }
+
+    /**
+     * Build the signed QR text for a reservation
+     */
+    public String sign(Long reservationId, Long userId, List<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        String body = String.join("|", signingKeyId, String.valueOf(reservationId), String.valueOf(userId),
+                String.join(",", stallIds), startDate.toString(), endDate.toString());
+        String signed = PREFIX + encode(body.getBytes(StandardCharsets.UTF_8));
+        return signed + "." + encode(mac(keys.get(signingKeyId), signed));
+    }
+
+    /**
+     * Whether the text uses the signed pass format (older codes are plain identifiers)
+     */
+    public boolean isSigned(String qrText) {
+        return qrText != null && qrText.startsWith(PREFIX);
+    }
+
+    /**
+     * Check the signature of a signed pass and return its reservation ID
+     *
+     * @throws InvalidReservationException if the pass is malformed or the signature does not match
+     */
+    public Long verify(String qrText) {
+        int separator = qrText.lastIndexOf('.');
+        if (!isSigned(qrText) || separator <= PREFIX.length()) {
+            throw new InvalidReservationException("Invalid QR code");
+        }
+        try {
+            String signed = qrText.substring(0, separator);
+            String[] fields = new String(Base64.getUrlDecoder().decode(signed.substring(PREFIX.length())),
+                    StandardCharsets.UTF_8).split("\\|", -1);
+            SecretKeySpec key = fields.length == 6 ? keys.get(fields[0]) : null;
+            byte[] expected = key != null ? mac(key, signed) : null;
+            byte[] actual = Base64.getUrlDecoder().decode(qrText.substring(separator + 1));
+            if (expected == null || !MessageDigest.isEqual(expected, actual)) {
+                throw new InvalidReservationException("Invalid QR code");
+            }
+            return Long.parseLong(fields[1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReservationException("Invalid QR code");
+        }
+    }
+
+    private static byte[] mac(SecretKeySpec key, String signed) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII)), MAC_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign QR pass", e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,352 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.dto.ReservationRequestDTO;
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
+import com.reservation.reservation_management_service.entity.OutboxEvent;
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.exception.InvalidReservationException;
+import com.reservation.reservation_management_service.exception.ReservationLimitExceededException;
+import com.reservation.reservation_management_service.exception.ResourceNotFoundException;
+import com.reservation.reservation_management_service.exception.StallNotAvailableException;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking implementation of the create, get and list reservation flows on R2DBC,
+ * against the same tables as the JPA path. Enabled with the "reactive" profile.
+ * <p>
+ * It shares the in-memory occupancy table and availability index, how reservations are built
+ * (including PENDING holds), the outbox and the post-commit work with {@link ReservationService}. The only blocking step is taking
+ * a new ID block in {@link ReservationIdGenerator}, which runs on the bounded elastic scheduler.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReservationService {
+
+    private static final String SELECT_RESERVATION = "SELECT id, user_id, user_email, company_name, start_date, " +
+            "end_date, status, payment_status, total_price, qr_code, qr_code_path, notes, created_at, updated_at, " +
+            "confirmed_at, cancelled_at, cancellation_reason FROM reservations ";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final StallServiceClient stallServiceClient;
+    private final StallOccupancyTable stallOccupancyTable;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final ReservationIdGenerator reservationIdGenerator;
+    private final ReservationService reservationService;
+    private final OutboxService outboxService;
+
+    @Value("${reservation.max-stalls-per-user}")
+    private int maxStallsPerUser;
+
+    /**
+     * Create a new reservation
+     */
+    public Mono<ReservationResponseDTO> createReservation(
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName
+    ) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            return Mono.error(new InvalidReservationException("End date must be after start date"));
+        }
+
+        List<String> claimedConflicts = stallOccupancyTable.claim(
+                request.getStallIds(), request.getStartDate(), request.getEndDate()
+        );
+        if (!claimedConflicts.isEmpty()) {
+            return Mono.error(conflict(claimedConflicts));
+        }
+        if (stallAvailabilityIndex.isReady()) {
+            List<String> indexed = stallAvailabilityIndex.findConflictingStallIds(
+                    request.getStallIds(), request.getStartDate(), request.getEndDate()
+            );
+            if (!indexed.isEmpty()) {
+                release(request);
+                return Mono.error(conflict(indexed));
+            }
+        }
+
+        Mono<Long> reservationId = Mono.fromCallable(reservationIdGenerator::nextId)
+                .subscribeOn(Schedulers.boundedElastic());
+        Mono<Map<String, StallServiceClient.StallDTO>> stalls = stallServiceClient.fetchStalls(request.getStallIds())
+                .onErrorMap(e -> !(e instanceof InvalidReservationException),
+                        e -> new InvalidReservationException("Unable to fetch stall details"));
+
+        // The claim is released on error and also when the subscriber goes away mid-insert
+        AtomicBoolean committed = new AtomicBoolean();
+        return Mono.zip(reservationId, stalls)
+                .flatMap(idAndStalls -> {
+                    Reservation reservation = buildReservation(request, userId, userEmail, companyName,
+                            idAndStalls.getT1(), idAndStalls.getT2());
+                    return insert(reservation, idAndStalls.getT2())
+                            .as(transactionalOperator::transactional)
+                            .thenReturn(reservation)
+                            .doOnSuccess(created -> {
+                                committed.set(true);
+                                log.info("Reservation created with ID: {}", created.getId());
+                                reservationService.reservationCommitted(created);
+                            });
+                })
+                .doFinally(signal -> {
+                    if (!committed.get()) {
+                        release(request);
+                    }
+                })
+                .map(ReservationResponseDTO::fromEntity);
+    }
+
+    /**
+     * Get reservation by ID
+     */
+    public Mono<ReservationResponseDTO> getReservationById(Long id, Long userId) {
+        return databaseClient.sql(SELECT_RESERVATION + "WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toReservation(row))
+                .one()
+                // Same answer for foreign reservations as for missing ones
+                .filter(reservation -> reservation.getUserId().equals(userId))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Reservation not found with ID: " + id)))
+                .flatMap(reservation -> withCollections(List.of(reservation)))
+                .map(reservations -> ReservationResponseDTO.fromEntity(reservations.get(0)));
+    }
+
+    /**
+     * Get all reservations for a user
+     */
+    public Mono<List<ReservationResponseDTO>> getUserReservations(Long userId) {
+        return databaseClient.sql(SELECT_RESERVATION + "WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> toReservation(row))
+                .all()
+                .collectList()
+                .flatMap(this::withCollections)
+                .map(reservations -> reservations.stream()
+                        .map(ReservationResponseDTO::fromEntity)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Same reservation (price, QR code, initial status) as the JPA path; the timestamps Hibernate
+     * would fill in are set here
+     */
+    private Reservation buildReservation(
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName,
+            Long reservationId,
+            Map<String, StallServiceClient.StallDTO> stalls
+    ) {
+        Reservation reservation = reservationService.buildReservation(
+                request, reservationId, userId, userEmail, companyName, stalls);
+        LocalDateTime now = LocalDateTime.now();
+        reservation.setCreatedAt(now);
+        reservation.setUpdatedAt(now);
+        if (reservation.getGenres() == null) {
+            reservation.setGenres(List.of());
+        }
+        return reservation;
+    }
+
+    /**
+     * Quota, stall days (the conflict check) and inserts; run inside one R2DBC transaction
+     */
+    private Mono<Void> insert(Reservation reservation, Map<String, StallServiceClient.StallDTO> stalls) {
+        return reserveStallQuota(reservation.getUserId(), reservation.getStallIds().size())
+                .then(insertStallDays(reservation))
+                .then(insertReservation(reservation))
+                .thenMany(Flux.fromIterable(reservation.getStallIds())
+                        .concatMap(stallId -> databaseClient
+                                .sql("INSERT INTO reservation_stalls (reservation_id, stall_id) VALUES (:id, :value)")
+                                .bind("id", reservation.getId())
+                                .bind("value", stallId)
+                                .then()))
+                .thenMany(Flux.fromIterable(reservation.getGenres())
+                        .concatMap(genre -> databaseClient
+                                .sql("INSERT INTO reservation_genres (reservation_id, genre) VALUES (:id, :value)")
+                                .bind("id", reservation.getId())
+                                .bind("value", genre)
+                                .then()))
+                // Holds publish theirs when confirmed
+                .then(reservation.getStatus() == Reservation.ReservationStatus.CONFIRMED
+                        ? insertOutboxEvent(outboxService.buildReservationCreated(reservation, stalls))
+                        : Mono.empty());
+    }
+
+    private Mono<Void> reserveStallQuota(Long userId, int requestedStalls) {
+        return tryIncrementQuota(userId, requestedStalls)
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(updated)
+                        : databaseClient.sql("INSERT INTO user_stall_quota (user_id, used) " +
+                                        "SELECT :userId, COUNT(s.stall_id) FROM reservations r " +
+                                        "JOIN reservation_stalls s ON s.reservation_id = r.id " +
+                                        "WHERE r.user_id = :userId AND r.status IN ('PENDING', 'CONFIRMED') " +
+                                        "ON DUPLICATE KEY UPDATE user_id = user_id")
+                                .bind("userId", userId)
+                                .then()
+                                .then(tryIncrementQuota(userId, requestedStalls)))
+                .flatMap(updated -> updated > 0
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ReservationLimitExceededException(
+                                String.format("Cannot reserve more than %d stalls.", maxStallsPerUser))));
+    }
+
+    private Mono<Long> tryIncrementQuota(Long userId, int requestedStalls) {
+        return databaseClient.sql("UPDATE user_stall_quota SET used = used + :stalls " +
+                        "WHERE user_id = :userId AND used + :stalls <= :maxStalls")
+                .bind("stalls", requestedStalls)
+                .bind("userId", userId)
+                .bind("maxStalls", maxStallsPerUser)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Take the reservation's stall days in the unique reservation_stall_days key
+     */
+    private Mono<Void> insertStallDays(Reservation reservation) {
+        return Flux.fromIterable(ReservationService.stallDays(reservation.getId(), reservation.getStallIds(),
+                        reservation.getStartDate(), reservation.getEndDate()))
+                .concatMap(day -> databaseClient
+                        .sql("INSERT INTO reservation_stall_days (stall_id, day, reservation_id) " +
+                                "VALUES (:stallId, :day, :id)")
+                        .bind("stallId", day.getStallId())
+                        .bind("day", day.getDay())
+                        .bind("id", day.getReservationId())
+                        .then())
+                .then()
+                .onErrorMap(DataIntegrityViolationException.class, e -> conflict(reservation.getStallIds()));
+    }
+
+    private Mono<Void> insertReservation(Reservation reservation) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("INSERT INTO reservations (id, user_id, " +
+                        "user_email, company_name, start_date, end_date, status, payment_status, total_price, qr_code, " +
+                        "qr_code_path, notes, created_at, updated_at, confirmed_at) VALUES (:id, :userId, :userEmail, " +
+                        ":companyName, :startDate, :endDate, :status, :paymentStatus, :totalPrice, :qrCode, " +
+                        ":qrCodePath, :notes, :createdAt, :updatedAt, :confirmedAt)")
+                .bind("id", reservation.getId())
+                .bind("userId", reservation.getUserId())
+                .bind("userEmail", reservation.getUserEmail())
+                .bind("startDate", reservation.getStartDate())
+                .bind("endDate", reservation.getEndDate())
+                .bind("status", reservation.getStatus().name())
+                .bind("paymentStatus", reservation.getPaymentStatus().name())
+                .bind("totalPrice", reservation.getTotalPrice())
+                .bind("createdAt", reservation.getCreatedAt())
+                .bind("updatedAt", reservation.getUpdatedAt());
+        spec = bindNullable(spec, "companyName", reservation.getCompanyName(), String.class);
+        spec = bindNullable(spec, "notes", reservation.getNotes(), String.class);
+        // Unset while the reservation is a PENDING hold
+        spec = bindNullable(spec, "qrCode", reservation.getQrCode(), String.class);
+        spec = bindNullable(spec, "qrCodePath", reservation.getQrCodePath(), String.class);
+        spec = bindNullable(spec, "confirmedAt", reservation.getConfirmedAt(), LocalDateTime.class);
+        return spec.then();
+    }
+
+    private Mono<Void> insertOutboxEvent(OutboxEvent event) {
+        return databaseClient.sql("INSERT INTO reservation_outbox (aggregate_id, event_type, topic, payload, " +
+                        "attempts, created_at) VALUES (:aggregateId, :eventType, :topic, :payload, 0, :createdAt)")
+                .bind("aggregateId", event.getAggregateId())
+                .bind("eventType", event.getEventType())
+                .bind("topic", event.getTopic())
+                .bind("payload", event.getPayload())
+                .bind("createdAt", LocalDateTime.now())
+                .then();
+    }
+
+    /**
+     * Fill in stall IDs and genres with one query per collection for all reservations
+     */
+    private Mono<List<Reservation>> withCollections(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return Mono.just(reservations);
+        }
+        List<Long> ids = reservations.stream().map(Reservation::getId).collect(Collectors.toList());
+        return Mono.zip(
+                        collectionByReservation("SELECT reservation_id, stall_id AS value FROM reservation_stalls " +
+                                "WHERE reservation_id IN (:ids)", ids),
+                        collectionByReservation("SELECT reservation_id, genre AS value FROM reservation_genres " +
+                                "WHERE reservation_id IN (:ids)", ids))
+                .map(collections -> {
+                    for (Reservation reservation : reservations) {
+                        reservation.setStallIds(collections.getT1().getOrDefault(reservation.getId(), new ArrayList<>()));
+                        reservation.setGenres(collections.getT2().getOrDefault(reservation.getId(), new ArrayList<>()));
+                    }
+                    return reservations;
+                });
+    }
+
+    private Mono<Map<Long, List<String>>> collectionByReservation(String sql, List<Long> ids) {
+        return databaseClient.sql(sql)
+                .bind("ids", ids)
+                .map((row, metadata) -> Map.entry(row.get("reservation_id", Long.class), row.get("value", String.class)))
+                .all()
+                .collect(HashMap::new, (byId, entry) ->
+                        byId.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(entry.getValue()));
+    }
+
+    private static Reservation toReservation(Row row) {
+        return Reservation.builder()
+                .id(row.get("id", Long.class))
+                .userId(row.get("user_id", Long.class))
+                .userEmail(row.get("user_email", String.class))
+                .companyName(row.get("company_name", String.class))
+                .startDate(row.get("start_date", LocalDate.class))
+                .endDate(row.get("end_date", LocalDate.class))
+                .status(Reservation.ReservationStatus.valueOf(row.get("status", String.class)))
+                .paymentStatus(Reservation.PaymentStatus.valueOf(row.get("payment_status", String.class)))
+                .totalPrice(row.get("total_price", BigDecimal.class))
+                .qrCode(row.get("qr_code", String.class))
+                .qrCodePath(row.get("qr_code_path", String.class))
+                .notes(row.get("notes", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .confirmedAt(row.get("confirmed_at", LocalDateTime.class))
+                .cancelledAt(row.get("cancelled_at", LocalDateTime.class))
+                .cancellationReason(row.get("cancellation_reason", String.class))
+                .newEntity(false)
+                .build();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(
+            DatabaseClient.GenericExecuteSpec spec, String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private void release(ReservationRequestDTO request) {
+        stallOccupancyTable.release(request.getStallIds(), request.getStartDate(), request.getEndDate());
+    }
+
+    private static StallNotAvailableException conflict(List<String> conflictingStallIds) {
+        return new StallNotAvailableException(
+                String.format("Stall(s) %s not available for the selected dates",
+                        String.join(", ", conflictingStallIds)),
+                conflictingStallIds
+        );
+    }
+}
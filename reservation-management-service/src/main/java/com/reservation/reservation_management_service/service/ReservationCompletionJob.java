@@ -0,0 +1,179 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import com.reservation.reservation_management_service.repository.UserStallQuotaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves CONFIRMED reservations whose end date has passed to COMPLETED, giving their stalls back to
+ * the users' quotas. Works through them in (end_date, id) keyset order, one short transaction per
+ * chunk with a pause in between, so it never holds many row locks or starves other writers.
+ */
+@Component
+@Slf4j
+public class ReservationCompletionJob {
+
+    private final ReservationRepository reservationRepository;
+    private final UserStallQuotaRepository userStallQuotaRepository;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final StallOccupancyTable stallOccupancyTable;
+    private final UserReservationCache userReservationCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter completedCounter;
+    private final Timer chunkTimer;
+
+    // Reservations completed by the current (or last) run, and its rate in reservations per second
+    private final AtomicLong runProgress = new AtomicLong();
+    private final AtomicLong runThroughput = new AtomicLong();
+
+    // End date (epoch day) of the oldest CONFIRMED reservation ending before tomorrow as of the last
+    // run, or Long.MIN_VALUE if none; the lag gauge reads it instead of querying on every scrape
+    private final AtomicLong oldestEndDay = new AtomicLong(Long.MIN_VALUE);
+
+    @Value("${reservation.completion.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reservation.completion.pause-ms:200}")
+    private long pauseMs;
+
+    public ReservationCompletionJob(
+            ReservationRepository reservationRepository,
+            UserStallQuotaRepository userStallQuotaRepository,
+            StallAvailabilityIndex stallAvailabilityIndex,
+            StallOccupancyTable stallOccupancyTable,
+            UserReservationCache userReservationCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.userStallQuotaRepository = userStallQuotaRepository;
+        this.stallAvailabilityIndex = stallAvailabilityIndex;
+        this.stallOccupancyTable = stallOccupancyTable;
+        this.userReservationCache = userReservationCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completedCounter = meterRegistry.counter("reservation.completion.completed");
+        this.chunkTimer = meterRegistry.timer("reservation.completion.chunk");
+        meterRegistry.gauge("reservation.completion.run.progress", runProgress);
+        meterRegistry.gauge("reservation.completion.run.throughput", runThroughput);
+        Gauge.builder("reservation.completion.lag", this, ReservationCompletionJob::lagSeconds)
+                .description("Seconds since the oldest reservation still waiting to be completed ended")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Complete all reservations that ended before today
+     */
+    @Scheduled(fixedDelayString = "${reservation.completion.interval-ms:3600000}",
+            initialDelayString = "${reservation.completion.initial-delay-ms:60000}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        long start = System.nanoTime();
+        runProgress.set(0);
+
+        // Keyset position: everything up to (endDate, id) has been handled
+        LocalDate afterEndDate = LocalDate.EPOCH;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<Object[]> chunk = reservationRepository.findCompletableAfter(
+                    today, afterEndDate, afterId, PageRequest.of(0, batchSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            Object[] last = chunk.get(chunk.size() - 1);
+            afterEndDate = (LocalDate) last[1];
+            afterId = (Long) last[0];
+
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (Object[] row : chunk) {
+                ids.add((Long) row[0]);
+            }
+            int completed = chunkTimer.record(() -> complete(ids));
+            completedCounter.increment(completed);
+            runProgress.addAndGet(completed);
+
+            if (chunk.size() < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        // Includes reservations ending today, so the lag starts counting at midnight without another query
+        LocalDate oldest = reservationRepository.findOldestCompletableEndDate(today.plusDays(1));
+        oldestEndDay.set(oldest != null ? oldest.toEpochDay() : Long.MIN_VALUE);
+
+        long elapsedMs = Math.max(1, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        runThroughput.set(runProgress.get() * 1000 / elapsedMs);
+        if (runProgress.get() > 0) {
+            log.info("Completed {} finished reservations in {} ms", runProgress.get(), elapsedMs);
+        }
+    }
+
+    private int complete(List<Long> ids) {
+        List<Reservation> completed = transactionTemplate.execute(status -> {
+            // Locked so a concurrent cancellation either finishes first or waits for this chunk
+            List<Reservation> reservations = reservationRepository.findConfirmedByIdsForUpdate(ids);
+            if (reservations.isEmpty()) {
+                return reservations;
+            }
+            List<Long> lockedIds = new ArrayList<>(reservations.size());
+            Map<Long, Integer> stallsByUser = new HashMap<>();
+            for (Reservation reservation : reservations) {
+                lockedIds.add(reservation.getId());
+                stallsByUser.merge(reservation.getUserId(), reservation.getStallIds().size(), Integer::sum);
+            }
+            reservationRepository.markCompleted(lockedIds, LocalDateTime.now());
+            stallsByUser.forEach(userStallQuotaRepository::decrement);
+            return reservations;
+        });
+
+        for (Reservation reservation : completed) {
+            userReservationCache.invalidate(reservation.getUserId());
+            stallAvailabilityIndex.remove(reservation);
+            stallOccupancyTable.release(reservation.getStallIds(), reservation.getStartDate(), reservation.getEndDate());
+        }
+        return completed.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private double lagSeconds() {
+        long endDay = oldestEndDay.get();
+        if (endDay == Long.MIN_VALUE) {
+            return 0;
+        }
+        // A reservation is due for completion from the start of the day after it ends
+        LocalDateTime due = LocalDate.ofEpochDay(endDay).plusDays(1).atStartOfDay();
+        return Math.max(0, Duration.between(due, LocalDateTime.now()).toSeconds());
+    }
+}
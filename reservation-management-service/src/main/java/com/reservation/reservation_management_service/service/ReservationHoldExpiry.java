@@ -0,0 +1,195 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import com.reservation.reservation_management_service.repository.ReservationStallDayRepository;
+import com.reservation.reservation_management_service.repository.UserStallQuotaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expires PENDING reservations (unpaid holds) once they are older than the hold TTL, giving their
+ * stalls back. Each hold has a timer in a {@link TimingWheel}, so hundreds of thousands of pending
+ * holds cost a few objects each and no database polling; expired holds are cancelled in batches.
+ * <p>
+ * Timers are rebuilt from the database on startup and the pending holds are rescanned periodically,
+ * which also picks up holds created on other instances. Expiry locks the rows and only touches
+ * reservations that are still PENDING, so instances expiring the same hold do not conflict.
+ */
+@Component
+@Slf4j
+public class ReservationHoldExpiry {
+
+    public static final String EXPIRED_REASON = "Hold expired before payment";
+
+    // Delay before retrying holds whose release failed
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final ReservationRepository reservationRepository;
+    private final UserStallQuotaRepository userStallQuotaRepository;
+    private final ReservationStallDayRepository stallDayRepository;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final StallOccupancyTable stallOccupancyTable;
+    private final ReservationSideEffectService sideEffectService;
+    private final UserReservationCache userReservationCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredCounter;
+    private final Duration ttl;
+    private final int batchSize;
+
+    private final TimingWheel<Long> wheel;
+    private final Map<Long, TimingWheel.Timer<Long>> timers = new HashMap<>();
+
+    public ReservationHoldExpiry(
+            ReservationRepository reservationRepository,
+            UserStallQuotaRepository userStallQuotaRepository,
+            ReservationStallDayRepository stallDayRepository,
+            StallAvailabilityIndex stallAvailabilityIndex,
+            StallOccupancyTable stallOccupancyTable,
+            ReservationSideEffectService sideEffectService,
+            UserReservationCache userReservationCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.hold.ttl:PT15M}") Duration ttl,
+            @Value("${reservation.hold.tick-ms:1000}") long tickMillis,
+            @Value("${reservation.hold.wheel-size:64}") int wheelSize,
+            @Value("${reservation.hold.release-batch-size:200}") int batchSize
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.userStallQuotaRepository = userStallQuotaRepository;
+        this.stallDayRepository = stallDayRepository;
+        this.stallAvailabilityIndex = stallAvailabilityIndex;
+        this.stallOccupancyTable = stallOccupancyTable;
+        this.sideEffectService = sideEffectService;
+        this.userReservationCache = userReservationCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.expiredCounter = meterRegistry.counter("reservation.holds.expired");
+        meterRegistry.gauge("reservation.holds.pending", this, ReservationHoldExpiry::size);
+    }
+
+    /**
+     * Start the timers of all pending holds
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        rescan();
+        log.info("Hold expiry timers loaded for {} pending reservations in {} ms",
+                size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Add timers for pending holds this instance does not know about yet
+     */
+    @Scheduled(fixedDelayString = "${reservation.hold.rescan-interval-ms:600000}",
+            initialDelayString = "${reservation.hold.rescan-interval-ms:600000}")
+    public void rescan() {
+        for (Object[] row : reservationRepository.findPendingHolds()) {
+            schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+    }
+
+    /**
+     * Start the expiry timer of a new hold
+     */
+    public synchronized void schedule(Long reservationId, LocalDateTime createdAt) {
+        if (!timers.containsKey(reservationId)) {
+            timers.put(reservationId, wheel.schedule(reservationId, toMillis(createdAt.plus(ttl))));
+        }
+    }
+
+    /**
+     * Stop the timer of a hold that was confirmed or cancelled
+     */
+    public synchronized void cancel(Long reservationId) {
+        TimingWheel.Timer<Long> timer = timers.remove(reservationId);
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+    }
+
+    /**
+     * Advance the wheel and release the holds that expired
+     */
+    @Scheduled(fixedDelayString = "${reservation.hold.tick-ms:1000}")
+    public void tick() {
+        List<Long> expired;
+        synchronized (this) {
+            expired = wheel.advance(System.currentTimeMillis());
+            expired.forEach(timers::remove);
+        }
+
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                release(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to release {} expired holds, retrying in {}", batch.size(), RETRY_DELAY, e);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY.toMillis();
+                synchronized (this) {
+                    for (Long reservationId : batch) {
+                        timers.computeIfAbsent(reservationId, id -> wheel.schedule(id, retryAt));
+                    }
+                }
+            }
+        }
+    }
+
+    private void release(List<Long> reservationIds) {
+        List<Reservation> released = transactionTemplate.execute(status -> {
+            // Locked so a concurrent confirmation either wins or waits and then sees CANCELLED
+            List<Reservation> holds = reservationRepository.findPendingByIdsForUpdate(reservationIds);
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, Integer> stallsByUser = new HashMap<>();
+            for (Reservation hold : holds) {
+                hold.setStatus(Reservation.ReservationStatus.CANCELLED);
+                hold.setCancelledAt(now);
+                hold.setCancellationReason(EXPIRED_REASON);
+                stallsByUser.merge(hold.getUserId(), hold.getStallIds().size(), Integer::sum);
+            }
+            // Changed holds are written with batched updates when the transaction commits
+            stallsByUser.forEach(userStallQuotaRepository::decrement);
+            if (!holds.isEmpty()) {
+                stallDayRepository.deleteByReservationIds(holds.stream().map(Reservation::getId).toList());
+            }
+            return holds;
+        });
+
+        for (Reservation hold : released) {
+            userReservationCache.invalidate(hold.getUserId());
+            stallAvailabilityIndex.remove(hold);
+            stallOccupancyTable.release(hold.getStallIds(), hold.getStartDate(), hold.getEndDate());
+            sideEffectService.reservationCancelled(hold, EXPIRED_REASON);
+        }
+        expiredCounter.increment(released.size());
+        if (!released.isEmpty()) {
+            log.info("Released {} expired reservation holds", released.size());
+        }
+    }
+
+    private synchronized int size() {
+        return wheel.size();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,119 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.repository.ReservationIdSequenceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pooled reservation ID generator. IDs are reserved from the reservation_id_sequence table in
+ * blocks and handed out from memory, so a reservation's ID, and everything derived from it like
+ * the QR code, is known before the reservation is inserted.
+ * Blocks are allocated on a background thread in its own transaction, and the next block is
+ * requested once half of the current one is used. Callers, which usually hold a connection for
+ * their own transaction, only wait when the next block is not ready yet and never need a second
+ * connection themselves.
+ */
+@Component
+@Slf4j
+public class ReservationIdGenerator {
+
+    private static final String SEQUENCE_NAME = "reservations";
+
+    private final ReservationIdSequenceRepository sequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reservation.id.block-size:50}")
+    private int blockSize;
+
+    // A lock rather than synchronized: callers may wait on a block allocation, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ExecutorService allocator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-id-allocator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock. Empty block (next > limit), so the first call takes one
+    private long next = 1;
+    private long limit = 0;
+    // Upper end of the block being allocated, if any
+    private Future<Long> nextBlock;
+
+    // Only used on the allocator thread
+    private boolean initialized = false;
+
+    public ReservationIdGenerator(
+            ReservationIdSequenceRepository sequenceRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.sequenceRepository = sequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Get the next reservation ID
+     */
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next > limit) {
+                takeNextBlock();
+            }
+            if (nextBlock == null && limit - next < blockSize / 2) {
+                nextBlock = allocator.submit(this::allocateBlock);
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        allocator.shutdownNow();
+    }
+
+    private void takeNextBlock() {
+        if (nextBlock == null) {
+            nextBlock = allocator.submit(this::allocateBlock);
+        }
+        long high;
+        try {
+            high = nextBlock.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a reservation ID block", e);
+        } catch (ExecutionException e) {
+            // Let the next call retry the allocation
+            nextBlock = null;
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+        nextBlock = null;
+        limit = high;
+        next = high - blockSize + 1;
+        log.debug("Allocated reservation ID block {}..{}", next, limit);
+    }
+
+    private long allocateBlock() {
+        Long high = transactionTemplate.execute(status -> {
+            if (!initialized) {
+                sequenceRepository.initialize(SEQUENCE_NAME);
+            }
+            sequenceRepository.advance(SEQUENCE_NAME, blockSize);
+            return sequenceRepository.lastInsertId();
+        });
+        initialized = true;
+        return high;
+    }
+}
@@ -0,0 +1,94 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds reservation response lists from constructor projections plus one query per collection,
+ * so listing N reservations always costs three queries instead of 1 + 2N.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationResponseAssembler {
+
+    private final ReservationRepository reservationRepository;
+
+    @Transactional(readOnly = true)
+    public List<ReservationResponseDTO> findByUserId(Long userId) {
+        return withCollections(reservationRepository.findResponsesByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationResponseDTO> findByStatus(Reservation.ReservationStatus status) {
+        return withCollections(reservationRepository.findResponsesByStatus(status));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationResponseDTO> findAllOrderByCreatedDesc() {
+        return withCollections(reservationRepository.findAllResponsesOrderByCreatedDesc());
+    }
+
+    /**
+     * Pass all reservations, newest first, to {@code writer} in chunks of {@code chunkSize} without
+     * holding them all in memory. Each chunk costs two collection queries on top of the cursor.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllOrderByCreatedDesc(int chunkSize, ChunkWriter writer) throws IOException {
+        try (Stream<ReservationResponseDTO> reservations = reservationRepository.streamAllResponsesOrderByCreatedDesc()) {
+            List<ReservationResponseDTO> chunk = new ArrayList<>(chunkSize);
+            for (ReservationResponseDTO reservation : (Iterable<ReservationResponseDTO>) reservations::iterator) {
+                chunk.add(reservation);
+                if (chunk.size() == chunkSize) {
+                    writer.write(withCollections(chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writer.write(withCollections(chunk));
+            }
+        }
+    }
+
+    private List<ReservationResponseDTO> withCollections(List<ReservationResponseDTO> reservations) {
+        if (reservations.isEmpty()) {
+            return reservations;
+        }
+
+        List<Long> ids = reservations.stream()
+                .map(ReservationResponseDTO::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<String>> stallIds = groupByReservation(reservationRepository.findStallIdsByReservationIds(ids));
+        Map<Long, List<String>> genres = groupByReservation(reservationRepository.findGenresByReservationIds(ids));
+
+        for (ReservationResponseDTO reservation : reservations) {
+            reservation.setStallIds(stallIds.getOrDefault(reservation.getId(), new ArrayList<>()));
+            reservation.setGenres(genres.getOrDefault(reservation.getId(), new ArrayList<>()));
+        }
+        return reservations;
+    }
+
+    private static Map<Long, List<String>> groupByReservation(List<Object[]> rows) {
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            grouped.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return grouped;
+    }
+
+    @FunctionalInterface
+    public interface ChunkWriter {
+        void write(List<ReservationResponseDTO> chunk) throws IOException;
+    }
+}
@@ -1,20 +1,44 @@
 package com.reservation.reservation_management_service.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.zxing.WriterException;
 import com.reservation.reservation_management_service.dto.*;
 import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.entity.ReservationIdempotencyKey;
+import com.reservation.reservation_management_service.entity.ReservationStallDay;
+import com.reservation.reservation_management_service.entity.UserStallQuota;
 import com.reservation.reservation_management_service.exception.*;
+import com.reservation.reservation_management_service.repository.ReservationIdempotencyKeyRepository;
 import com.reservation.reservation_management_service.repository.ReservationRepository;
+import com.reservation.reservation_management_service.repository.ReservationStallDayRepository;
+import com.reservation.reservation_management_service.repository.UserStallQuotaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,14 +46,39 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ReservationService {
 
+    // Reservations per chunk of the full export; each chunk loads its collections with two IN queries
+    private static final int STREAM_CHUNK_SIZE = 100;
+
     private final ReservationRepository reservationRepository;
+    private final UserStallQuotaRepository userStallQuotaRepository;
+    private final ReservationIdempotencyKeyRepository idempotencyKeyRepository;
     private final QRCodeService qrCodeService;
-    private final EmailService emailService;
-    private final StallServiceClient stallServiceClient;
+    private final QRPassCodec qrPassCodec;
+    private final ReservationSideEffectService sideEffectService;
+    private final OutboxService outboxService;
+    private final ReservationIdGenerator reservationIdGenerator;
+    private final ObjectMapper objectMapper;
+    private final ReservationResponseAssembler responseAssembler;
+    private final StallCache stallCache;
+    private final StallAvailabilityIndex stallAvailabilityIndex;
+    private final StallOccupancyTable stallOccupancyTable;
+    private final ReservationHoldExpiry reservationHoldExpiry;
+    private final UserReservationCache userReservationCache;
+    private final ReservationStallDayRepository stallDayRepository;
 
     @Value("${reservation.max-stalls-per-user:3}")
     private int maxStallsPerUser;
 
+    // Start new reservations as PENDING holds that expire unless confirmed within the hold TTL
+    @Value("${reservation.hold.pending-on-create:false}")
+    private boolean pendingOnCreate;
+
+    @Value("${reservation.admin.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${reservation.admin.max-page-size:500}")
+    private int maxPageSize;
+
     /**
      * Create a new reservation
      */
@@ -39,6 +88,20 @@ public class ReservationService {
             Long userId,
             String userEmail,
             String companyName
+    ) {
+        return createReservation(request, userId, userEmail, companyName, null);
+    }
+
+    /**
+     * Create a new reservation and record the Idempotency-Key it was requested with (if any)
+     */
+    @Transactional
+    public ReservationResponseDTO createReservation(
+            ReservationRequestDTO request,
+            Long userId,
+            String userEmail,
+            String companyName,
+            ReservationIdempotencyKey idempotencyKey
     ) {
         log.info("Creating reservation for user: {}", userId);
 
@@ -47,119 +110,209 @@ public class ReservationService {
             throw new InvalidReservationException("End date must be after start date");
         }
 
-        // Check if user has reached maximum stall limit
-        Long currentStallCount = reservationRepository.countTotalStallsReservedByUser(userId);
-        if (currentStallCount == null) {
-            currentStallCount = 0L;
+        // Assign the ID up front so the QR code and confirmed status go out with the single insert
+        Long reservationId = reservationIdGenerator.nextId();
+
+        // Record the idempotency key first; a duplicate running on another instance blocks on the
+        // unique key here until this transaction ends and then fails instead of booking twice
+        if (idempotencyKey != null) {
+            idempotencyKey.setReservationId(reservationId);
+            idempotencyKeyRepository.save(idempotencyKey);
         }
 
-        int requestedStalls = request.getStallIds().size();
-        if (currentStallCount + requestedStalls > maxStallsPerUser) {
-            throw new ReservationLimitExceededException(
-                    String.format("Cannot reserve more than %d stalls. You currently have %d stalls reserved.",
-                            maxStallsPerUser, currentStallCount)
-            );
+        // Claim the stall days in memory first so contended stalls fail fast; undone on rollback
+        throwIfConflicting(stallOccupancyTable.claim(
+                request.getStallIds(), request.getStartDate(), request.getEndDate()
+        ));
+        afterRollback(() -> stallOccupancyTable.release(
+                request.getStallIds(), request.getStartDate(), request.getEndDate()
+        ));
+
+        // Take the stalls from the user's quota counter (row-locked until commit, undone on rollback)
+        reserveStallQuota(userId, request.getStallIds().size());
+
+        // Reject known conflicts from the in-memory index, then confirm against the database
+        if (stallAvailabilityIndex.isReady()) {
+            throwIfConflicting(stallAvailabilityIndex.findConflictingStallIds(
+                    request.getStallIds(), request.getStartDate(), request.getEndDate()
+            ));
         }
+        holdStallDays(reservationId, request);
 
-        // Check stall availability
-        for (String stallId : request.getStallIds()) {
-            Long reservationCount = reservationRepository.countStallReservationsInDateRange(
-                    stallId, request.getStartDate(), request.getEndDate()
-            );
-            if (reservationCount > 0) {
-                throw new StallNotAvailableException(
-                        String.format("Stall %s is not available for the selected dates", stallId)
-                );
-            }
+        // Look up stall prices from the stall cache and calculate total price
+        Map<String, StallServiceClient.StallDTO> stalls;
+        try {
+            stalls = stallCache.getStalls(request.getStallIds());
+        } catch (Exception e) {
+            log.error("Failed to fetch stall details for stalls: {}", request.getStallIds(), e);
+            throw new InvalidReservationException("Unable to fetch stall details");
+        }
+
+        Reservation reservation = buildReservation(request, reservationId, userId, userEmail, companyName, stalls);
+
+        // Auto-confirmed on creation unless holds are enabled; the QR image is rendered after commit
+        reservation = reservationRepository.save(reservation);
+        log.info("Reservation created with ID: {}", reservation.getId());
+
+        // Confirmation email is sent by notification-service from the outbox event; for a hold
+        // that only happens once it is confirmed
+        if (reservation.getStatus() == Reservation.ReservationStatus.CONFIRMED) {
+            outboxService.reservationCreated(reservation, stalls);
         }
 
-        // Fetch stall details and calculate total price
+        Reservation created = reservation;
+        afterCommit(() -> reservationCommitted(created));
+
+        return ReservationResponseDTO.fromEntity(reservation);
+    }
+
+    /**
+     * Build a new reservation with its price, QR code and initial status
+     *
+     * @throws InvalidReservationException if the price of a stall is unknown
+     */
+    Reservation buildReservation(
+            ReservationRequestDTO request,
+            Long reservationId,
+            Long userId,
+            String userEmail,
+            String companyName,
+            Map<String, StallServiceClient.StallDTO> stalls
+    ) {
         BigDecimal totalPrice = BigDecimal.ZERO;
         for (String stallId : request.getStallIds()) {
-            try {
-                BigDecimal stallPrice = stallServiceClient.getStallPrice(stallId);
-                totalPrice = totalPrice.add(stallPrice);
-            } catch (Exception e) {
-                log.error("Failed to fetch price for stall: {}", stallId, e);
+            StallServiceClient.StallDTO stall = stalls.get(stallId);
+            if (stall == null || stall.getPricePerDay() == null) {
                 throw new InvalidReservationException("Unable to fetch stall details: " + stallId);
             }
+            totalPrice = totalPrice.add(stall.getPricePerDay());
         }
 
-        // Create reservation entity
         Reservation reservation = Reservation.builder()
+                .id(reservationId)
                 .userId(userId)
                 .userEmail(userEmail)
                 .companyName(companyName)
                 .stallIds(request.getStallIds())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
-                .status(Reservation.ReservationStatus.PENDING)
+                .status(pendingOnCreate ? Reservation.ReservationStatus.PENDING : Reservation.ReservationStatus.CONFIRMED)
                 .paymentStatus(Reservation.PaymentStatus.PENDING)
                 .totalPrice(totalPrice)
                 .genres(request.getGenres())
                 .notes(request.getNotes())
+                .confirmedAt(pendingOnCreate ? null : LocalDateTime.now())
                 .build();
+        if (!pendingOnCreate) {
+            issuePass(reservation);
+        }
+        return reservation;
+    }
 
-        // Save reservation first to get ID
-        reservation = reservationRepository.save(reservation);
-        log.info("Reservation created with ID: {}", reservation.getId());
+    /**
+     * Set the signed QR pass of a confirmed reservation. Holds get theirs on confirmation, so an
+     * unpaid hold has no pass that gates would accept.
+     */
+    private void issuePass(Reservation reservation) {
+        reservation.setQrCode(qrCodeService.generateQRCodeString(reservation.getId(), reservation.getUserId(),
+                reservation.getStallIds(), reservation.getStartDate(), reservation.getEndDate()));
+        reservation.setQrCodePath(qrCodeService.resolveQRCodePath("QR-" + reservation.getId()));
+    }
 
-        // Generate and save QR code
-        try {
-            String qrCodeText = qrCodeService.generateQRCodeString(reservation.getId(), userId);
-            String fileName = "QR-" + reservation.getId();
-            String qrCodePath = qrCodeService.generateQRCodeImage(qrCodeText, fileName);
+    /**
+     * One row per stall and day of a reservation, for the unique reservation_stall_days key
+     */
+    static List<ReservationStallDay> stallDays(
+            Long reservationId, Collection<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        List<ReservationStallDay> days = new ArrayList<>();
+        for (String stallId : new LinkedHashSet<>(stallIds)) {
+            for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+                days.add(ReservationStallDay.builder()
+                        .stallId(stallId)
+                        .day(day)
+                        .reservationId(reservationId)
+                        .build());
+            }
+        }
+        return days;
+    }
 
-            reservation.setQrCode(qrCodeText);
-            reservation.setQrCodePath(qrCodePath);
-            reservation = reservationRepository.save(reservation);
+    /**
+     * Insert the reservation's stall days now; the unique key makes an overlapping booking that
+     * committed (or is committing) first fail here, while bookings of other stalls or days never wait
+     */
+    private void holdStallDays(Long reservationId, ReservationRequestDTO request) {
+        try {
+            stallDayRepository.saveAllAndFlush(stallDays(
+                    reservationId, request.getStallIds(), request.getStartDate(), request.getEndDate()));
+        } catch (DataIntegrityViolationException e) {
+            throw stallsNotAvailable(request.getStallIds());
+        }
+    }
 
-            log.info("QR code generated for reservation: {}", reservation.getId());
-        } catch (WriterException | IOException e) {
-            log.error("Failed to generate QR code for reservation: {}", reservation.getId(), e);
-            // Don't fail the reservation, just log the error
+    /**
+     * Update caches and start side effects once a new reservation has been committed
+     */
+    void reservationCommitted(Reservation reservation) {
+        userReservationCache.invalidate(reservation.getUserId());
+        stallAvailabilityIndex.add(reservation);
+        if (reservation.getStatus() == Reservation.ReservationStatus.PENDING) {
+            reservationHoldExpiry.schedule(reservation.getId(), reservation.getCreatedAt());
+        } else {
+            sideEffectService.reservationConfirmed(reservation);
         }
+    }
 
-        // Auto-confirm reservation and send email
-        reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
-        reservation.setConfirmedAt(LocalDateTime.now());
-        reservation = reservationRepository.save(reservation);
+    /**
+     * Drop cached data for a stall after it was changed in stall service
+     */
+    public void invalidateStall(String stallId) {
+        stallCache.invalidate(stallId);
+    }
 
-        // Send confirmation email
-        try {
-            emailService.sendReservationConfirmationEmail(
-                    userEmail,
-                    companyName,
-                    reservation.getId(),
-                    reservation.getStallIds(),
-                    reservation.getStartDate(),
-                    reservation.getEndDate(),
-                    reservation.getQrCode(),
-                    reservation.getQrCodePath()
-            );
-            log.info("Confirmation email sent for reservation: {}", reservation.getId());
-        } catch (Exception e) {
-            log.error("Failed to send confirmation email for reservation: {}", reservation.getId(), e);
-            // Don't fail the reservation if email fails
+    /**
+     * Check whether a stall is free for a date range
+     */
+    public boolean isStallAvailable(String stallId, LocalDate startDate, LocalDate endDate) {
+        return getFreeStallIds(List.of(stallId), startDate, endDate).contains(stallId);
+    }
+
+    /**
+     * Get the stalls from the given list that are free for a date range
+     */
+    public List<String> getFreeStallIds(List<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidReservationException("End date must be after start date");
         }
 
-        return ReservationResponseDTO.fromEntity(reservation);
+        if (stallAvailabilityIndex.isReady()) {
+            return stallAvailabilityIndex.findFreeStallIds(stallIds, startDate, endDate);
+        }
+
+        List<String> conflicting = reservationRepository.findConflictingStallIds(stallIds, startDate, endDate);
+        return stallIds.stream()
+                .filter(stallId -> !conflicting.contains(stallId))
+                .distinct()
+                .collect(Collectors.toList());
     }
 
     /**
      * Get all reservations for a user
      */
     public List<ReservationResponseDTO> getUserReservations(Long userId) {
-        List<Reservation> reservations = reservationRepository.findByUserId(userId);
-        return reservations.stream()
-                .map(ReservationResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return userReservationCache.getReservations(userId);
     }
 
     /**
      * Get reservation by ID
      */
     public ReservationResponseDTO getReservationById(Long id, Long userId) {
+        // Served from the user's cached list; falls back to the database for reservations not in it yet
+        return userReservationCache.getReservation(userId, id)
+                .orElseGet(() -> loadReservationById(id, userId));
+    }
+
+    private ReservationResponseDTO loadReservationById(Long id, Long userId) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
 
@@ -176,7 +329,8 @@ public class ReservationService {
      */
     @Transactional
     public ReservationResponseDTO cancelReservation(Long id, Long userId, String reason) {
-        Reservation reservation = reservationRepository.findById(id)
+        // Locked so it cannot interleave with hold expiry
+        Reservation reservation = reservationRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
 
         // Verify ownership
@@ -201,19 +355,61 @@ public class ReservationService {
         reservation.setPaymentStatus(Reservation.PaymentStatus.REFUNDED);
 
         reservation = reservationRepository.save(reservation);
+
+        // Return the stalls to the user's quota and free their days
+        userStallQuotaRepository.decrement(userId, reservation.getStallIds().size());
+        stallDayRepository.deleteByReservationIds(List.of(id));
         log.info("Reservation cancelled: {}", id);
 
-        // Send cancellation email
+        Reservation cancelled = reservation;
+        afterCommit(() -> {
+            userReservationCache.invalidate(userId);
+            reservationHoldExpiry.cancel(cancelled.getId());
+            stallAvailabilityIndex.remove(cancelled);
+            stallOccupancyTable.release(cancelled.getStallIds(), cancelled.getStartDate(), cancelled.getEndDate());
+            sideEffectService.reservationCancelled(cancelled, reason);
+        });
+
+        return ReservationResponseDTO.fromEntity(reservation);
+    }
+
+    /**
+     * Confirm a PENDING hold once it has been paid (Admin only)
+     */
+    @Transactional
+    public ReservationResponseDTO confirmReservation(Long id) {
+        // Locked so it cannot interleave with hold expiry
+        Reservation reservation = reservationRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
+
+        if (reservation.getStatus() != Reservation.ReservationStatus.PENDING) {
+            throw new InvalidReservationException("Only pending reservations can be confirmed");
+        }
+
+        reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
+        reservation.setPaymentStatus(Reservation.PaymentStatus.PAID);
+        reservation.setConfirmedAt(LocalDateTime.now());
+        issuePass(reservation);
+        reservation = reservationRepository.save(reservation);
+        log.info("Reservation confirmed: {}", id);
+
+        // The created event (and with it the confirmation email) goes out now that it is paid
+        Map<String, StallServiceClient.StallDTO> stalls;
         try {
-            emailService.sendCancellationEmail(
-                    reservation.getUserEmail(),
-                    reservation.getCompanyName(),
-                    reservation.getId(),
-                    reason
-            );
+            stalls = stallCache.getStalls(reservation.getStallIds());
         } catch (Exception e) {
-            log.error("Failed to send cancellation email for reservation: {}", id, e);
+            // Stall names and prices in the event fall back to the stall IDs
+            log.warn("Failed to fetch stall details for confirmed reservation {}: {}", id, e.getMessage());
+            stalls = Map.of();
         }
+        outboxService.reservationCreated(reservation, stalls);
+
+        Reservation confirmed = reservation;
+        afterCommit(() -> {
+            userReservationCache.invalidate(confirmed.getUserId());
+            reservationHoldExpiry.cancel(id);
+            sideEffectService.reservationConfirmed(confirmed);
+        });
 
         return ReservationResponseDTO.fromEntity(reservation);
     }
@@ -234,6 +430,7 @@ public class ReservationService {
         reservation.setGenres(genres);
         reservation = reservationRepository.save(reservation);
         log.info("Genres updated for reservation: {}", id);
+        afterCommit(() -> userReservationCache.invalidate(userId));
 
         return ReservationResponseDTO.fromEntity(reservation);
     }
@@ -242,6 +439,25 @@ public class ReservationService {
      * Get QR code for a reservation
      */
     public QRCodeResponseDTO getQRCode(Long id, Long userId) {
+        QRCodeService.QRCodeImage image = getQRCodeImage(id, userId);
+        try {
+            String base64Image = qrCodeService.readQRCodeAsBase64(image.path().toString());
+            return QRCodeResponseDTO.builder()
+                    .qrCode(image.qrCode())
+                    .qrCodeImage("data:image/png;base64," + base64Image)
+                    .imageUrl("/api/reservations/" + id + "/qrcode/image")
+                    .downloadUrl("/api/reservations/" + id + "/qrcode/download")
+                    .build();
+        } catch (IOException e) {
+            log.error("Failed to read QR code for reservation: {}", id, e);
+            throw new ResourceNotFoundException("QR code image not found");
+        }
+    }
+
+    /**
+     * Get the QR code image file of a reservation, rendering it if it does not exist yet
+     */
+    public QRCodeService.QRCodeImage getQRCodeImage(Long id, Long userId) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
 
@@ -254,27 +470,79 @@ public class ReservationService {
             throw new ResourceNotFoundException("QR code not found for this reservation");
         }
 
+        Path path = Paths.get(reservation.getQrCodePath());
         try {
-            String base64Image = qrCodeService.readQRCodeAsBase64(reservation.getQrCodePath());
-            return QRCodeResponseDTO.builder()
-                    .qrCode(reservation.getQrCode())
-                    .qrCodeImage("data:image/png;base64," + base64Image)
-                    .downloadUrl("/api/reservations/" + id + "/qrcode/download")
-                    .build();
-        } catch (IOException e) {
-            log.error("Failed to read QR code for reservation: {}", id, e);
+            if (!Files.exists(path)) {
+                // Image is rendered after commit; render it now if the worker has not got to it yet
+                qrCodeService.generateQRCodeImage(reservation.getQrCode(), "QR-" + reservation.getId());
+            }
+        } catch (WriterException | IOException e) {
+            log.error("Failed to render QR code for reservation: {}", id, e);
             throw new ResourceNotFoundException("QR code image not found");
         }
+        return new QRCodeService.QRCodeImage(reservation.getQrCode(), path, qrCodeService.imageETag(reservation.getQrCode()));
     }
 
     /**
      * Get all reservations (Admin only)
      */
     public List<ReservationResponseDTO> getAllReservations() {
-        List<Reservation> reservations = reservationRepository.findAllReservationsOrderByCreatedDesc();
-        return reservations.stream()
-                .map(ReservationResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return responseAssembler.findAllOrderByCreatedDesc();
+    }
+
+    /**
+     * Get one page of reservations, newest first (Admin only)
+     */
+    @Transactional(readOnly = true)
+    public ReservationPageResponseDTO getReservationsPage(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+
+        // Fetch one extra row to know whether another page follows
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Reservation> reservations;
+        if (cursor == null || cursor.isBlank()) {
+            reservations = reservationRepository.findFirstPage(limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            reservations = reservationRepository.findPageBefore(
+                    LocalDateTime.parse(position[0]), Long.valueOf(position[1]), limit
+            );
+        }
+
+        boolean hasMore = reservations.size() > pageSize;
+        if (hasMore) {
+            reservations = reservations.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Reservation last = reservations.get(reservations.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return ReservationPageResponseDTO.builder()
+                .items(reservations.stream()
+                        .map(ReservationResponseDTO::fromEntity)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Write all reservations, newest first, as a JSON array without holding them in memory (Admin only)
+     */
+    public void streamAllReservations(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            responseAssembler.streamAllOrderByCreatedDesc(STREAM_CHUNK_SIZE, chunk -> {
+                for (ReservationResponseDTO reservation : chunk) {
+                    generator.writeObject(reservation);
+                }
+                generator.flush();
+            });
+            generator.writeEndArray();
+        }
     }
 
     /**
@@ -288,19 +556,112 @@ public class ReservationService {
             throw new InvalidReservationException("Invalid status: " + status);
         }
 
-        List<Reservation> reservations = reservationRepository.findByStatus(reservationStatus);
-        return reservations.stream()
-                .map(ReservationResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return responseAssembler.findByStatus(reservationStatus);
     }
 
     /**
      * Verify QR code (Entry validation)
      */
     public ReservationResponseDTO verifyQRCode(String qrCode) {
-        Reservation reservation = reservationRepository.findByQrCode(qrCode)
+        // Signed passes are checked before touching the database and then looked up by primary key
+        Reservation reservation = (qrPassCodec.isSigned(qrCode)
+                ? reservationRepository.findById(qrPassCodec.verify(qrCode)).filter(r -> qrCode.equals(r.getQrCode()))
+                : reservationRepository.findByQrCode(qrCode))
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid QR code"));
 
         return ReservationResponseDTO.fromEntity(reservation);
     }
+
+    private void reserveStallQuota(Long userId, int requestedStalls) {
+        int updated = userStallQuotaRepository.tryIncrement(userId, requestedStalls, maxStallsPerUser);
+        if (updated == 0 && !userStallQuotaRepository.existsById(userId)) {
+            userStallQuotaRepository.initialize(userId);
+            updated = userStallQuotaRepository.tryIncrement(userId, requestedStalls, maxStallsPerUser);
+        }
+
+        if (updated == 0) {
+            int currentStallCount = userStallQuotaRepository.findById(userId)
+                    .map(UserStallQuota::getUsed)
+                    .orElse(0);
+            throw quotaExceeded(currentStallCount);
+        }
+    }
+
+    ReservationLimitExceededException quotaExceeded(int currentStallCount) {
+        return new ReservationLimitExceededException(
+                String.format("Cannot reserve more than %d stalls. You currently have %d stalls reserved.",
+                        maxStallsPerUser, currentStallCount)
+        );
+    }
+
+    int getMaxStallsPerUser() {
+        return maxStallsPerUser;
+    }
+
+    private void throwIfConflicting(List<String> conflictingStallIds) {
+        if (!conflictingStallIds.isEmpty()) {
+            throw stallsNotAvailable(conflictingStallIds);
+        }
+    }
+
+    static StallNotAvailableException stallsNotAvailable(List<String> conflictingStallIds) {
+        return new StallNotAvailableException(
+                String.format("Stall(s) %s not available for the selected dates",
+                        String.join(", ", conflictingStallIds)),
+                conflictingStallIds
+        );
+    }
+
+    /**
+     * Run an action once the current transaction has committed
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Run an action if the current transaction rolls back
+     */
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidReservationException("Invalid cursor");
+        }
+    }
 }
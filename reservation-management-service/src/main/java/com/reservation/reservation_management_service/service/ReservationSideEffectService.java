@@ -0,0 +1,142 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.entity.Reservation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the slow side effects of a reservation (QR image rendering, cancellation email) on the bounded
+ * side-effect executor once the reservation has been committed, retrying failed attempts
+ * with exponential backoff and recording outcome metrics. Retries wait on a scheduler instead of
+ * a sleeping worker. A full queue slows the submitter down instead of dropping the task
+ * (see SideEffectExecutorConfig).
+ */
+@Service
+@Slf4j
+public class ReservationSideEffectService {
+
+    private final ThreadPoolTaskExecutor sideEffectExecutor;
+    private final QRCodeService qrCodeService;
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "side-effect-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${reservation.side-effects.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${reservation.side-effects.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    public ReservationSideEffectService(
+            @Qualifier("sideEffectExecutor") ThreadPoolTaskExecutor sideEffectExecutor,
+            QRCodeService qrCodeService,
+            EmailService emailService,
+            MeterRegistry meterRegistry
+    ) {
+        this.sideEffectExecutor = sideEffectExecutor;
+        this.qrCodeService = qrCodeService;
+        this.emailService = emailService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Render the QR code image for a committed reservation
+     */
+    public void reservationConfirmed(Reservation reservation) {
+        Long reservationId = reservation.getId();
+        String qrCode = reservation.getQrCode();
+
+        submit("qr-image", reservationId, () -> {
+            qrCodeService.generateQRCodeImage(qrCode, "QR-" + reservationId);
+            log.info("QR code generated for reservation: {}", reservationId);
+        });
+    }
+
+    /**
+     * Send the cancellation email for a committed cancellation
+     */
+    public void reservationCancelled(Reservation reservation, String reason) {
+        Long reservationId = reservation.getId();
+        String userEmail = reservation.getUserEmail();
+        String companyName = reservation.getCompanyName();
+
+        submit("cancellation", reservationId, () ->
+                emailService.sendCancellationEmail(userEmail, companyName, reservationId, reason)
+        );
+    }
+
+    private void submit(String task, Long reservationId, SideEffect sideEffect) {
+        meterRegistry.counter("reservation.side-effects.submitted", "task", task).increment();
+        execute(new Attempt(task, reservationId, sideEffect, Timer.start(meterRegistry)), 1, initialBackoffMs);
+    }
+
+    private void execute(Attempt attempt, int number, long backoffMs) {
+        try {
+            sideEffectExecutor.execute(() -> run(attempt, number, backoffMs));
+        } catch (TaskRejectedException e) {
+            // Only happens once the executor is shutting down
+            meterRegistry.counter("reservation.side-effects.rejected", "task", attempt.task()).increment();
+            log.error("Side effect executor shut down, '{}' not run for reservation {}",
+                    attempt.task(), attempt.reservationId());
+            attempt.finish(meterRegistry, "rejected");
+        }
+    }
+
+    private void run(Attempt attempt, int number, long backoffMs) {
+        try {
+            attempt.sideEffect().run();
+            attempt.finish(meterRegistry, "success");
+        } catch (Exception e) {
+            if (number >= maxAttempts) {
+                log.error("Side effect '{}' failed for reservation {} after {} attempts",
+                        attempt.task(), attempt.reservationId(), number, e);
+                attempt.finish(meterRegistry, "failure");
+                return;
+            }
+            log.warn("Side effect '{}' failed for reservation {} (attempt {}/{}), retrying in {} ms: {}",
+                    attempt.task(), attempt.reservationId(), number, maxAttempts, backoffMs, e.getMessage());
+            meterRegistry.counter("reservation.side-effects.retries", "task", attempt.task()).increment();
+            // The worker is free while waiting; the retry scheduler only puts the task back on the pool
+            try {
+                retryScheduler.schedule(() -> execute(attempt, number + 1, backoffMs * 2),
+                        backoffMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shuttingDown) {
+                attempt.finish(meterRegistry, "failure");
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    private record Attempt(String task, Long reservationId, SideEffect sideEffect, Timer.Sample sample) {
+
+        void finish(MeterRegistry meterRegistry, String outcome) {
+            sample.stop(meterRegistry.timer("reservation.side-effects.duration", "task", task, "outcome", outcome));
+        }
+    }
+
+    @FunctionalInterface
+    private interface SideEffect {
+        void run() throws Exception;
+    }
+}
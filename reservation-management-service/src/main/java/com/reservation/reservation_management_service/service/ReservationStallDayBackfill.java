@@ -0,0 +1,39 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.repository.ReservationStallDayRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills reservation_stall_days from the active reservations when the table is first created,
+ * before the service takes requests, since bookings rely on it instead of an overlap query.
+ */
+@Component
+@Slf4j
+public class ReservationStallDayBackfill {
+
+    private final ReservationStallDayRepository stallDayRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReservationStallDayBackfill(
+            ReservationStallDayRepository stallDayRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.stallDayRepository = stallDayRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void backfill() {
+        if (stallDayRepository.count() > 0) {
+            return;
+        }
+        Integer inserted = transactionTemplate.execute(status -> stallDayRepository.backfillFromActiveReservations());
+        if (inserted != null && inserted > 0) {
+            log.info("Backfilled {} reserved stall days", inserted);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of active (PENDING/CONFIRMED) reservation date ranges per stall.
+ * Loaded from the database on startup and kept up to date after each create/cancel commit,
+ * so availability questions can be answered without a reservations/reservation_stalls JOIN.
+ * <p>
+ * A load builds a new map and swaps it in, so requests keep reading the previous one meanwhile.
+ * Changes made while the load query runs are applied to both maps, so the swapped-in map
+ * includes them whether or not the query saw them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StallAvailabilityIndex {
+
+    private final ReservationRepository reservationRepository;
+
+    private volatile Map<String, StallIntervals> stalls = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    // Changes made while a load is running, replayed onto the loaded map; guarded by this
+    private List<Change> changesDuringLoad;
+
+    /**
+     * Load all active reservations into the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        Map<String, StallIntervals> loaded = new ConcurrentHashMap<>();
+        try {
+            for (Object[] row : reservationRepository.findActiveStallDateRanges()) {
+                Interval interval = new Interval((Long) row[0], (LocalDate) row[2], (LocalDate) row[3]);
+                apply(loaded, new Change((String) row[1], interval, true));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            // A change the query already saw is applied again: adding twice or removing a missing range is harmless
+            changesDuringLoad.forEach(change -> apply(loaded, change));
+            changesDuringLoad = null;
+            stalls = loaded;
+            ready = true;
+        }
+        log.info("Stall availability index loaded for {} stalls in {} ms",
+                loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Whether the index has been loaded and can be used instead of the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Record an active reservation
+     */
+    public void add(Reservation reservation) {
+        Interval interval = new Interval(reservation.getId(), reservation.getStartDate(), reservation.getEndDate());
+        for (String stallId : reservation.getStallIds()) {
+            record(new Change(stallId, interval, true));
+        }
+    }
+
+    /**
+     * Forget a reservation that is no longer active
+     */
+    public void remove(Reservation reservation) {
+        Interval interval = new Interval(reservation.getId(), reservation.getStartDate(), reservation.getEndDate());
+        for (String stallId : reservation.getStallIds()) {
+            record(new Change(stallId, interval, false));
+        }
+    }
+
+    /**
+     * Check whether a stall has an active reservation overlapping the date range
+     */
+    public boolean isReserved(String stallId, LocalDate startDate, LocalDate endDate) {
+        StallIntervals intervals = stalls.get(stallId);
+        return intervals != null && intervals.overlaps(startDate, endDate);
+    }
+
+    /**
+     * Return the subset of the given stalls that are reserved for the date range
+     */
+    public List<String> findConflictingStallIds(Collection<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        List<String> conflicting = new ArrayList<>();
+        for (String stallId : stallIds) {
+            if (isReserved(stallId, startDate, endDate) && !conflicting.contains(stallId)) {
+                conflicting.add(stallId);
+            }
+        }
+        return conflicting;
+    }
+
+    /**
+     * Return the subset of the given stalls that are free for the date range
+     */
+    public List<String> findFreeStallIds(Collection<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        List<String> free = new ArrayList<>();
+        for (String stallId : stallIds) {
+            if (!isReserved(stallId, startDate, endDate) && !free.contains(stallId)) {
+                free.add(stallId);
+            }
+        }
+        return free;
+    }
+
+    private synchronized void record(Change change) {
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(change);
+        }
+        apply(stalls, change);
+    }
+
+    private static void apply(Map<String, StallIntervals> stalls, Change change) {
+        if (change.added()) {
+            stalls.computeIfAbsent(change.stallId(), id -> new StallIntervals()).add(change.interval());
+            return;
+        }
+        StallIntervals intervals = stalls.get(change.stallId());
+        if (intervals != null) {
+            intervals.remove(change.interval().reservationId(), change.interval().startDate());
+        }
+    }
+
+    private record Interval(Long reservationId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record Change(String stallId, Interval interval, boolean added) {
+    }
+
+    /**
+     * Date ranges of one stall, ordered by start date. Remembering the longest range lets an
+     * overlap query only look at ranges starting in [startDate - longest, endDate], which keeps
+     * lookups at O(log n + k) without a rebalancing interval tree.
+     */
+    private static class StallIntervals {
+
+        private final NavigableMap<LocalDate, List<Interval>> byStart = new TreeMap<>();
+
+        private long longestDays = 0;
+
+        synchronized void add(Interval interval) {
+            byStart.computeIfAbsent(interval.startDate(), d -> new ArrayList<>(1)).add(interval);
+            longestDays = Math.max(longestDays, ChronoUnit.DAYS.between(interval.startDate(), interval.endDate()));
+        }
+
+        synchronized void remove(Long reservationId, LocalDate startDate) {
+            List<Interval> intervals = byStart.get(startDate);
+            if (intervals == null) {
+                return;
+            }
+            intervals.removeIf(interval -> interval.reservationId().equals(reservationId));
+            if (intervals.isEmpty()) {
+                byStart.remove(startDate);
+            }
+        }
+
+        synchronized boolean overlaps(LocalDate startDate, LocalDate endDate) {
+            LocalDate from = startDate.minusDays(longestDays);
+            if (endDate.isBefore(from)) {
+                return false;
+            }
+            for (List<Interval> intervals : byStart.subMap(from, true, endDate, true).values()) {
+                for (Interval interval : intervals) {
+                    if (!interval.endDate().isBefore(startDate)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
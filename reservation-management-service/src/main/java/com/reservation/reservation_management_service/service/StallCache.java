@@ -0,0 +1,70 @@
+package com.reservation.reservation_management_service.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded near-cache of stall data from stall-management-service.
+ * Entries expire after a TTL and are refreshed in the background once they are older than the
+ * refresh interval, so reservations normally never wait on the stall service. Stall changes are
+ * pushed by stall-management-service through {@link #invalidate(String)}.
+ */
+@Component
+@Slf4j
+public class StallCache {
+
+    private final LoadingCache<String, StallServiceClient.StallDTO> cache;
+
+    public StallCache(
+            StallServiceClient stallServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.stall-cache.max-size:2000}") long maxSize,
+            @Value("${reservation.stall-cache.ttl:PT30M}") Duration ttl,
+            @Value("${reservation.stall-cache.refresh-after:PT5M}") Duration refreshAfter
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public StallServiceClient.StallDTO load(String stallId) {
+                        return stallServiceClient.getStalls(Set.of(stallId)).get(stallId);
+                    }
+
+                    @Override
+                    public Map<String, StallServiceClient.StallDTO> loadAll(Set<? extends String> stallIds) {
+                        return stallServiceClient.getStalls(Set.copyOf(stallIds));
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "stalls");
+    }
+
+    /**
+     * Get stalls by ID, loading missing ones from stall service in one call.
+     * Stalls that do not exist are missing from the result.
+     */
+    public Map<String, StallServiceClient.StallDTO> getStalls(Collection<String> stallIds) {
+        return cache.getAll(stallIds);
+    }
+
+    /**
+     * Drop a stall so the next lookup reloads it
+     */
+    public void invalidate(String stallId) {
+        cache.invalidate(stallId);
+        log.info("Stall cache entry invalidated: {}", stallId);
+    }
+}
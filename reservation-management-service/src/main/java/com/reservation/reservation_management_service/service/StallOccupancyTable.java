@@ -0,0 +1,223 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Lock-free table of which fair days each stall is occupied on, one bit per day in a long.
+ * Claims are compare-and-set on those bits, so competing requests for the same stall fail
+ * in memory before touching the database. The database stays the source of truth: claims are
+ * released again if the reservation transaction rolls back.
+ * Claims and releases share a read lock that only excludes swapping in a freshly loaded table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StallOccupancyTable {
+
+    private final ReservationRepository reservationRepository;
+
+    private volatile Map<String, AtomicLong> occupancy = new ConcurrentHashMap<>();
+
+    // Held shared by claims and releases, exclusively by load() to start recording and to swap tables
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    // Claims and releases made while load() runs, replayed onto the loaded table before the swap.
+    // Non-null only during a load; changes are then applied and recorded in order while synchronized on it
+    private volatile List<Change> changesDuringLoad;
+
+    @Value("${reservation.event.start-date}")
+    private LocalDate eventStartDate;
+
+    @Value("${reservation.event.end-date}")
+    private LocalDate eventEndDate;
+
+    /**
+     * Load the occupied days of all active reservations
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!isEnabled()) {
+            log.warn("Event spans more than {} days, stall occupancy table disabled", Long.SIZE);
+            return;
+        }
+        swapLock.writeLock().lock();
+        try {
+            changesDuringLoad = new ArrayList<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        // Requests keep claiming against the current table while the query runs
+        Map<String, AtomicLong> loaded = new ConcurrentHashMap<>();
+        try {
+            for (Object[] row : reservationRepository.findActiveStallDateRanges()) {
+                apply(loaded, new Change((String) row[1], mask((LocalDate) row[2], (LocalDate) row[3]), true));
+            }
+        } catch (RuntimeException e) {
+            changesDuringLoad = null;
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            // A claim the query already saw sets its bits again, which is harmless
+            changesDuringLoad.forEach(change -> apply(loaded, change));
+            changesDuringLoad = null;
+            occupancy = loaded;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Stall occupancy table loaded for {} stalls", loaded.size());
+    }
+
+    /**
+     * Atomically claim the days of a date range on all given stalls.
+     * Either every stall is claimed, or none is and the conflicting stalls are returned.
+     *
+     * @return stall ids that are already occupied on one of the days (empty if the claim succeeded)
+     */
+    public List<String> claim(Collection<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        long mask = mask(startDate, endDate);
+        if (mask == 0) {
+            return List.of();
+        }
+
+        List<String> claimed = new ArrayList<>();
+        List<String> conflicting = new ArrayList<>();
+        swapLock.readLock().lock();
+        try {
+            for (String stallId : new LinkedHashSet<>(stallIds)) {
+                if (update(new Change(stallId, mask, true))) {
+                    claimed.add(stallId);
+                } else {
+                    conflicting.add(stallId);
+                }
+            }
+            if (!conflicting.isEmpty()) {
+                claimed.forEach(stallId -> update(new Change(stallId, mask, false)));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        return conflicting;
+    }
+
+    /**
+     * Release the days of a date range on all given stalls
+     */
+    public void release(Collection<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        long mask = mask(startDate, endDate);
+        if (mask == 0) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            for (String stallId : stallIds) {
+                update(new Change(stallId, mask, false));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a claim or release to the current table, recording it if a load is running.
+     * Must be called with the read lock held.
+     *
+     * @return false if a claim conflicts with days already occupied
+     */
+    private boolean update(Change change) {
+        List<Change> changes = changesDuringLoad;
+        if (changes == null) {
+            return applyToCurrent(change);
+        }
+        synchronized (changes) {
+            boolean applied = applyToCurrent(change);
+            if (applied) {
+                changes.add(change);
+            }
+            return applied;
+        }
+    }
+
+    private boolean applyToCurrent(Change change) {
+        if (change.claim()) {
+            return tryClaim(slot(occupancy, change.stallId()), change.mask());
+        }
+        apply(occupancy, change);
+        return true;
+    }
+
+    /**
+     * Set or clear the bits of a change unconditionally
+     */
+    private static void apply(Map<String, AtomicLong> occupancy, Change change) {
+        if (change.mask() == 0) {
+            return;
+        }
+        if (change.claim()) {
+            slot(occupancy, change.stallId()).getAndAccumulate(change.mask(), (current, bits) -> current | bits);
+            return;
+        }
+        AtomicLong slot = occupancy.get(change.stallId());
+        if (slot != null) {
+            slot.getAndAccumulate(change.mask(), (current, bits) -> current & ~bits);
+        }
+    }
+
+    private static boolean tryClaim(AtomicLong slot, long mask) {
+        while (true) {
+            long current = slot.get();
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (slot.compareAndSet(current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private static AtomicLong slot(Map<String, AtomicLong> occupancy, String stallId) {
+        return occupancy.computeIfAbsent(stallId, id -> new AtomicLong());
+    }
+
+    private boolean isEnabled() {
+        return ChronoUnit.DAYS.between(eventStartDate, eventEndDate) < Long.SIZE;
+    }
+
+    /**
+     * Bits for the days of a range, or 0 when the range is not fully inside the event
+     * (such ranges are left to the database check).
+     */
+    private long mask(LocalDate startDate, LocalDate endDate) {
+        if (!isEnabled() || startDate.isBefore(eventStartDate) || endDate.isAfter(eventEndDate)
+                || endDate.isBefore(startDate)) {
+            return 0;
+        }
+        int from = (int) ChronoUnit.DAYS.between(eventStartDate, startDate);
+        int to = (int) ChronoUnit.DAYS.between(eventStartDate, endDate);
+        long upTo = to == Long.SIZE - 1 ? -1L : (1L << (to + 1)) - 1;
+        return upTo & (-1L << from);
+    }
+
+    private record Change(String stallId, long mask, boolean claim) {
+    }
+}
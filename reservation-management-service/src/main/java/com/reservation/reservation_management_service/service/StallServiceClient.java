@@ -1,48 +1,65 @@
 package com.reservation.reservation_management_service.service;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StallServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final ParameterizedTypeReference<List<StallDTO>> STALL_LIST =
+            new ParameterizedTypeReference<>() {};
 
-    @Value("${service.stall.url}")
-    private String stallServiceUrl;
+    private final WebClient stallServiceWebClient;
+
+    @Value("${service.stall.timeout-ms:3000}")
+    private long timeoutMs;
 
     /**
-     * Get stall price from stall service
+     * Fetch several stalls in a single non-blocking call.
+     * Stalls unknown to the stall service are missing from the result.
      */
-    public BigDecimal getStallPrice(String stallId) {
-        try {
-            WebClient webClient = webClientBuilder.baseUrl(stallServiceUrl).build();
-            
-            StallDTO stall = webClient.get()
-                    .uri("/{id}", stallId)
-                    .retrieve()
-                    .bodyToMono(StallDTO.class)
-                    .block();
+    public Mono<Map<String, StallDTO>> fetchStalls(Collection<String> stallIds) {
+        return stallServiceWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/prices")
+                        .queryParam("ids", new LinkedHashSet<>(stallIds))
+                        .build())
+                .retrieve()
+                .bodyToMono(STALL_LIST)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .map(stalls -> {
+                    Map<String, StallDTO> byId = new HashMap<>();
+                    for (StallDTO stall : stalls) {
+                        byId.put(stall.getId(), stall);
+                    }
+                    return byId;
+                });
+    }
 
-            if (stall != null && stall.getPrice() != null) {
-                return stall.getPrice();
-            }
-            
-            log.warn("Stall price not found for ID: {}, using default", stallId);
-            return BigDecimal.valueOf(5000); // Default price
-            
-        } catch (Exception e) {
-            log.error("Failed to fetch stall price for ID: {}", stallId, e);
-            // Return default price if service is unavailable
-            return BigDecimal.valueOf(5000);
-        }
+    /**
+     * Get several stalls from stall service, failing if the service cannot be reached
+     */
+    public Map<String, StallDTO> getStalls(Collection<String> stallIds) {
+        Map<String, StallDTO> stalls = fetchStalls(stallIds).block();
+        return stalls != null ? stalls : Map.of();
     }
 
     /**
@@ -50,16 +67,7 @@ public class StallServiceClient {
      */
     public boolean stallExists(String stallId) {
         try {
-            WebClient webClient = webClientBuilder.baseUrl(stallServiceUrl).build();
-            
-            StallDTO stall = webClient.get()
-                    .uri("/{id}", stallId)
-                    .retrieve()
-                    .bodyToMono(StallDTO.class)
-                    .block();
-
-            return stall != null;
-            
+            return getStalls(List.of(stallId)).containsKey(stallId);
         } catch (Exception e) {
             log.error("Failed to check stall existence for ID: {}", stallId, e);
             return false;
@@ -67,15 +75,14 @@ public class StallServiceClient {
     }
 
     /**
-     * Internal DTO for stall data
+     * Stall data returned by the stall service
      */
-    @lombok.Data
-    private static class StallDTO {
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StallDTO {
         private String id;
-        private String name;
-        private String location;
-        private String size;
-        private BigDecimal price;
-        private String status;
+        private String stallCode;
+        private BigDecimal pricePerDay;
     }
 }
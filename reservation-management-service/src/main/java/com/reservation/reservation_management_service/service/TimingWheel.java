@@ -0,0 +1,196 @@
+package com.reservation.reservation_management_service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: adding and cancelling a timer are O(1) and advancing the clock costs
+ * O(levels) per tick plus the timers that fire, however many timers are pending.
+ * <p>
+ * Level 0 has one bucket per tick; each higher level has buckets as wide as the whole level below.
+ * When the clock reaches the start of a higher-level bucket its timers are moved down a level,
+ * so a timer is moved at most once per level before it fires. Levels are added as far-off
+ * deadlines need them.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ *
+ * @param <T> value carried by each timer
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least 2 buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMillis / tickMillis;
+        levels.add(new Level<>(1, wheelSize));
+    }
+
+    /**
+     * Add a timer firing at the given time (rounded up to the next tick)
+     *
+     * @return handle for {@link #cancel(Timer)}
+     */
+    public Timer<T> schedule(T value, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(value, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        size++;
+        place(timer, null);
+        return timer;
+    }
+
+    /**
+     * Remove a timer that has not fired yet
+     *
+     * @return whether the timer was still pending
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.bucket == null) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Move the clock forward to the given time and return the values of the timers that fired, in deadline order
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Move timers down from every level whose bucket starts at this tick, highest first
+            for (int i = levels.size() - 1; i > 0; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTick % level.span == 0) {
+                    Timer<T> timer;
+                    while ((timer = level.bucketFor(currentTick).poll()) != null) {
+                        place(timer, expired);
+                    }
+                }
+            }
+            Timer<T> timer;
+            while ((timer = levels.get(0).bucketFor(currentTick).poll()) != null) {
+                expired.add(timer.value);
+                size--;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Number of pending timers
+     */
+    public int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer, List<T> expired) {
+        if (timer.deadlineTick <= currentTick) {
+            if (expired != null) {
+                expired.add(timer.value);
+                size--;
+                return;
+            }
+            // Already due when scheduled: fire on the next tick
+            timer.deadlineTick = currentTick + 1;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> top = levels.get(i - 1);
+                levels.add(new Level<>(top.span * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            // The level covers wheelSize buckets starting at the one holding the current tick
+            long levelStart = currentTick - currentTick % level.span;
+            if (timer.deadlineTick < levelStart + level.span * wheelSize) {
+                level.bucketFor(timer.deadlineTick).add(timer);
+                return;
+            }
+        }
+    }
+
+    private static final class Level<T> {
+
+        private final long span;
+        private final Bucket<T>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long span, int wheelSize) {
+            this.span = span;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+        }
+
+        Bucket<T> bucketFor(long tick) {
+            return buckets[(int) ((tick / span) % buckets.length)];
+        }
+    }
+
+    /**
+     * Circular doubly linked list of timers, so a timer can be unlinked without searching
+     */
+    private static final class Bucket<T> {
+
+        private final Timer<T> head = new Timer<>(null, 0);
+
+        Bucket() {
+            head.next = head;
+            head.previous = head;
+        }
+
+        void add(Timer<T> timer) {
+            timer.bucket = this;
+            timer.previous = head.previous;
+            timer.next = head;
+            head.previous.next = timer;
+            head.previous = timer;
+        }
+
+        Timer<T> poll() {
+            Timer<T> first = head.next;
+            if (first == head) {
+                return null;
+            }
+            first.unlink();
+            return first;
+        }
+    }
+
+    public static final class Timer<T> {
+
+        private final T value;
+        private long deadlineTick;
+        private Bucket<T> bucket;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        private void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            previous = null;
+            next = null;
+            bucket = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.reservation.reservation_management_service.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded read-through cache of each user's reservation list, which also answers by-ID lookups
+ * for the user's own reservations. Entries are invalidated after every committed change to one of
+ * the user's reservations; the TTL only bounds staleness for changes made by other instances.
+ * Hit ratio, evictions and load times are published as the "userReservations" cache metrics.
+ * When disabled every lookup goes to the database (used to benchmark the engines like for like).
+ */
+@Component
+public class UserReservationCache {
+
+    private final LoadingCache<Long, List<ReservationResponseDTO>> cache;
+    private final ReservationResponseAssembler responseAssembler;
+    private final boolean enabled;
+
+    public UserReservationCache(
+            ReservationResponseAssembler responseAssembler,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.user-cache.enabled:true}") boolean enabled,
+            @Value("${reservation.user-cache.max-size:10000}") long maxSize,
+            @Value("${reservation.user-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.responseAssembler = responseAssembler;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> List.copyOf(responseAssembler.findByUserId(userId)));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userReservations");
+    }
+
+    /**
+     * All reservations of a user
+     */
+    public List<ReservationResponseDTO> getReservations(Long userId) {
+        return enabled ? cache.get(userId) : responseAssembler.findByUserId(userId);
+    }
+
+    /**
+     * One of the user's reservations, if it is in their (cached) list
+     */
+    public Optional<ReservationResponseDTO> getReservation(Long userId, Long reservationId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return cache.get(userId).stream()
+                .filter(reservation -> reservation.getId().equals(reservationId))
+                .findFirst();
+    }
+
+    /**
+     * Drop a user's list after one of their reservations changed
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
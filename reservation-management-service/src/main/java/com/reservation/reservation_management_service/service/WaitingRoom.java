@@ -0,0 +1,216 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.dto.WaitingRoomStatusDTO;
+import com.reservation.reservation_management_service.exception.ResourceNotFoundException;
+import com.reservation.reservation_management_service.exception.WaitingRoomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Admission control for reservation creation during the opening rush.
+ * At most {@code max-admitted} users may be creating reservations at a time; everyone else gets a
+ * ticket in a FIFO queue and polls for their position until admitted. An admission ends when the
+ * user's reservation is created or after the admission TTL, and waiting tickets that stop polling
+ * are dropped, so abandoned sessions do not hold up the queue.
+ * <p>
+ * The queue is kept per instance; with several instances each admits its own share.
+ */
+@Component
+@Slf4j
+public class WaitingRoom {
+
+    private final boolean enabled;
+    private final int maxAdmitted;
+    private final Duration admissionTtl;
+    private final Duration idleTimeout;
+    private final int pollIntervalSeconds;
+
+    private final Map<Long, Ticket> tickets = new HashMap<>();
+    private final Deque<Ticket> queue = new ArrayDeque<>();
+    private long nextSequence = 1;
+    private int admitted = 0;
+
+    public WaitingRoom(
+            MeterRegistry meterRegistry,
+            @Value("${reservation.waiting-room.enabled:false}") boolean enabled,
+            @Value("${reservation.waiting-room.max-admitted:50}") int maxAdmitted,
+            @Value("${reservation.waiting-room.admission-ttl:PT5M}") Duration admissionTtl,
+            @Value("${reservation.waiting-room.idle-timeout:PT30S}") Duration idleTimeout,
+            @Value("${reservation.waiting-room.poll-interval-seconds:3}") int pollIntervalSeconds
+    ) {
+        this.enabled = enabled;
+        this.maxAdmitted = maxAdmitted;
+        this.admissionTtl = admissionTtl;
+        this.idleTimeout = idleTimeout;
+        this.pollIntervalSeconds = pollIntervalSeconds;
+        meterRegistry.gauge("reservation.waiting-room.waiting", this, room -> room.size(false));
+        meterRegistry.gauge("reservation.waiting-room.admitted", this, room -> room.size(true));
+    }
+
+    /**
+     * Take a ticket for the user, or return the one they already hold
+     */
+    public synchronized WaitingRoomStatusDTO join(Long userId) {
+        if (!enabled) {
+            return WaitingRoomStatusDTO.builder().status("ADMITTED").build();
+        }
+        Ticket ticket = tickets.get(userId);
+        if (ticket == null) {
+            ticket = new Ticket(UUID.randomUUID().toString(), nextSequence++);
+            tickets.put(userId, ticket);
+            queue.addLast(ticket);
+            admitWaiting();
+        }
+        ticket.lastSeenAt = LocalDateTime.now();
+        return toStatus(ticket);
+    }
+
+    /**
+     * Current queue position of the user's ticket
+     */
+    public synchronized WaitingRoomStatusDTO getStatus(Long userId) {
+        if (!enabled) {
+            return WaitingRoomStatusDTO.builder().status("ADMITTED").build();
+        }
+        Ticket ticket = tickets.get(userId);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("No waiting room ticket for this user");
+        }
+        ticket.lastSeenAt = LocalDateTime.now();
+        admitWaiting();
+        return toStatus(ticket);
+    }
+
+    /**
+     * Require the user to be admitted before creating a reservation.
+     * When nobody is waiting and there is spare capacity the user is admitted straight away.
+     *
+     * @throws WaitingRoomException if the user has to wait, with their queue status
+     */
+    public synchronized void requireAdmission(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        Ticket ticket = tickets.get(userId);
+        if (ticket == null) {
+            if (queue.isEmpty() && admitted < maxAdmitted) {
+                ticket = new Ticket(UUID.randomUUID().toString(), nextSequence++);
+                tickets.put(userId, ticket);
+                admit(ticket);
+                return;
+            }
+            ticket = new Ticket(UUID.randomUUID().toString(), nextSequence++);
+            tickets.put(userId, ticket);
+            queue.addLast(ticket);
+        }
+        ticket.lastSeenAt = LocalDateTime.now();
+        if (ticket.admittedAt == null) {
+            throw new WaitingRoomException("Reservations are busy, you have been placed in the waiting room",
+                    toStatus(ticket));
+        }
+    }
+
+    /**
+     * Give up the user's ticket or admission, letting the next user in
+     */
+    public synchronized void leave(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        Ticket ticket = tickets.remove(userId);
+        if (ticket == null) {
+            return;
+        }
+        if (ticket.admittedAt != null) {
+            admitted--;
+        } else {
+            queue.remove(ticket);
+        }
+        admitWaiting();
+    }
+
+    /**
+     * Drop expired admissions and tickets that stopped polling, then admit from the queue
+     */
+    @Scheduled(fixedDelayString = "${reservation.waiting-room.sweep-interval-ms:1000}")
+    public synchronized void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<Ticket> iterator = tickets.values().iterator();
+        int expired = 0;
+        while (iterator.hasNext()) {
+            Ticket ticket = iterator.next();
+            if (ticket.admittedAt != null) {
+                if (ticket.admittedAt.plus(admissionTtl).isBefore(now)) {
+                    iterator.remove();
+                    admitted--;
+                    expired++;
+                }
+            } else if (ticket.lastSeenAt.plus(idleTimeout).isBefore(now)) {
+                iterator.remove();
+                queue.remove(ticket);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Waiting room dropped {} expired tickets", expired);
+        }
+        admitWaiting();
+    }
+
+    private void admitWaiting() {
+        while (admitted < maxAdmitted && !queue.isEmpty()) {
+            admit(queue.pollFirst());
+        }
+    }
+
+    private void admit(Ticket ticket) {
+        ticket.admittedAt = LocalDateTime.now();
+        admitted++;
+    }
+
+    private WaitingRoomStatusDTO toStatus(Ticket ticket) {
+        boolean isAdmitted = ticket.admittedAt != null;
+        // Counted by ticket sequence, so tickets ahead that left the queue still count: an upper bound
+        long position = isAdmitted || queue.isEmpty() ? 0 : ticket.sequence - queue.peekFirst().sequence + 1;
+        return WaitingRoomStatusDTO.builder()
+                .ticketId(ticket.id)
+                .status(isAdmitted ? "ADMITTED" : "WAITING")
+                .position(position)
+                .waiting(queue.size())
+                .admittedUntil(isAdmitted ? ticket.admittedAt.plus(admissionTtl) : null)
+                .retryAfterSeconds(isAdmitted ? 0 : pollIntervalSeconds)
+                .build();
+    }
+
+    private synchronized int size(boolean admittedTickets) {
+        return admittedTickets ? admitted : queue.size();
+    }
+
+    private static class Ticket {
+
+        private final String id;
+        private final long sequence;
+        private LocalDateTime lastSeenAt = LocalDateTime.now();
+        private LocalDateTime admittedAt;
+
+        Ticket(String id, long sequence) {
+            this.id = id;
+            this.sequence = sequence;
+        }
+    }
+}
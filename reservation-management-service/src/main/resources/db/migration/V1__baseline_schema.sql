@@ -0,0 +1,91 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Every table is created only if it
+-- is missing, so databases that were set up by Hibernate are baselined without changes.
+
+-- reservations is the baseline table; keys added since then are created by name in V2
+create table if not exists reservations (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    user_email varchar(255) not null,
+    company_name varchar(255),
+    start_date date not null,
+    end_date date not null,
+    status enum ('PENDING','CONFIRMED','CANCELLED','COMPLETED') not null,
+    payment_status enum ('PENDING','PAID','REFUNDED','FAILED') not null,
+    total_price decimal(10,2) not null,
+    qr_code varchar(255),
+    qr_code_path varchar(255),
+    notes text,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    cancelled_at datetime(6),
+    cancellation_reason text,
+    confirmed_at datetime(6),
+    primary key (id)
+);
+
+create table if not exists reservation_stalls (
+    reservation_id bigint not null,
+    stall_id varchar(255),
+    constraint fk_reservation_stalls_reservation foreign key (reservation_id) references reservations (id)
+);
+
+create table if not exists reservation_genres (
+    reservation_id bigint not null,
+    genre varchar(255),
+    constraint fk_reservation_genres_reservation foreign key (reservation_id) references reservations (id)
+);
+
+create table if not exists reservation_stall_days (
+    stall_id varchar(255) not null,
+    `day` date not null,
+    reservation_id bigint not null,
+    primary key (stall_id, `day`),
+    key idx_reservation_stall_days_reservation (reservation_id)
+);
+
+create table if not exists reservation_id_sequence (
+    name varchar(64) not null,
+    next_val bigint not null,
+    primary key (name)
+);
+
+create table if not exists user_stall_quota (
+    user_id bigint not null,
+    used integer not null,
+    primary key (user_id)
+);
+
+create table if not exists reservation_idempotency_keys (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    idempotency_key varchar(100) not null,
+    request_hash varchar(32) not null,
+    reservation_id bigint not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint uk_idempotency_user_key unique (user_id, idempotency_key),
+    key idx_idempotency_created_at (created_at)
+);
+
+create table if not exists reservation_outbox (
+    id bigint not null auto_increment,
+    aggregate_id varchar(255) not null,
+    event_type varchar(255) not null,
+    topic varchar(255) not null,
+    payload text not null,
+    attempts integer not null,
+    created_at datetime(6) not null,
+    published_at datetime(6),
+    primary key (id),
+    key idx_outbox_published_at (published_at, id)
+);
+
+create table if not exists gate_check_ins (
+    qr_code varchar(255) not null,
+    scanned_at datetime(6) not null,
+    reservation_id bigint not null,
+    gate_id varchar(50),
+    received_at datetime(6) not null,
+    primary key (qr_code, scanned_at),
+    key idx_gate_check_ins_reservation (reservation_id)
+);
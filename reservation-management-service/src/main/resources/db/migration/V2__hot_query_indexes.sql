@@ -0,0 +1,29 @@
+-- Composite indexes for the hot ReservationRepository predicates. InnoDB secondary indexes carry
+-- the primary key, so the ID-only projections below are answered from the index alone.
+-- Created here rather than in V1 so databases baselined from Hibernate's schema get them too.
+
+-- findByQrCode, findIdsByQrCodes (pass verification). Databases set up by Hibernate keep its
+-- auto-named unique key on qr_code next to this one
+alter table reservations add constraint uk_reservations_qr_code unique (qr_code);
+
+-- findFirstPage, findPageBefore (keyset pagination of the admin list)
+create index idx_reservations_created_at_id on reservations (created_at, id);
+
+-- findCompletableAfter, findOldestCompletableEndDate (completion job)
+create index idx_reservations_status_end_date on reservations (status, end_date);
+
+-- findByUserId, findByUserIdAndStatus, countActiveReservationsByUserId, findResponsesByUserId
+create index idx_reservations_user_status on reservations (user_id, status);
+
+-- findPendingHolds, findResponsesByStatus and the status + date overlap filters
+create index idx_reservations_status_dates on reservations (status, start_date, end_date);
+
+-- findCancelledSince (gate revocation list)
+create index idx_reservations_status_cancelled_at on reservations (status, cancelled_at);
+
+-- findGatePassesChangedSince (gate delta sync)
+create index idx_reservations_updated_at on reservations (updated_at);
+
+-- Stall lookups (findConflictingStallIds, findActiveStallRanges, findReservationsByStallId) start
+-- from the stall and only need the reservation ID to join back
+create index idx_reservation_stalls_stall on reservation_stalls (stall_id, reservation_id);
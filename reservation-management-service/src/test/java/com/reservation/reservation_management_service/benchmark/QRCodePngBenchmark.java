@@ -0,0 +1,71 @@
+package com.reservation.reservation_management_service.benchmark;
+
+import com.bookfair.apicontracts.qr.QRCodePngEncoder;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation per 300x300 QR image: MatrixToImageWriter (BufferedImage + ImageIO)
+ * against {@link QRCodePngEncoder}. Both include encoding the QR matrix.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.reservation.reservation_management_service.benchmark.QRCodePngBenchmark};
+ * gc.alloc.rate.norm is the allocation per image.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class QRCodePngBenchmark {
+
+    private static final int SIZE = 300;
+
+    private final QRCodeWriter writer = new QRCodeWriter();
+    private final QRCodePngEncoder encoder = new QRCodePngEncoder();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    private long sequence = 0;
+
+    @Benchmark
+    public int matrixToImageWriter() throws WriterException, IOException {
+        BitMatrix matrix = writer.encode(nextText(), BarcodeFormat.QR_CODE, SIZE, SIZE);
+        out.reset();
+        MatrixToImageWriter.writeToStream(matrix, "PNG", out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int pngEncoder() throws WriterException, IOException {
+        BitMatrix modules = writer.encode(nextText(), BarcodeFormat.QR_CODE, 0, 0);
+        out.reset();
+        encoder.write(modules, SIZE, SIZE, out);
+        return out.size();
+    }
+
+    private String nextText() {
+        long id = ++sequence;
+        return String.format("BOOKFAIR-2026-RES-%d-USER-%d-%08x", id, id % 1000, (int) (id * 0x9E3779B97F4A7C15L));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QRCodePngBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
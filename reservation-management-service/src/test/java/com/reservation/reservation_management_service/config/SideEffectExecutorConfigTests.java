@@ -0,0 +1,47 @@
+package com.reservation.reservation_management_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SideEffectExecutorConfigTests {
+
+    @Test
+    void fullQueueRunsTaskOnSubmitterInsteadOfDroppingIt() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ThreadPoolTaskExecutor executor = new SideEffectExecutorConfig()
+                .sideEffectExecutor(meterRegistry, 1, 1, 50, false);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> ranOn = new CopyOnWriteArrayList<>();
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> ranOn.add("queued"));
+
+            executor.execute(() -> ranOn.add(Thread.currentThread().getName()));
+
+            assertEquals(List.of(Thread.currentThread().getName()), ranOn);
+            assertEquals(1.0, meterRegistry.counter("reservation.side-effects.caller-runs").count());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, ranOn.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
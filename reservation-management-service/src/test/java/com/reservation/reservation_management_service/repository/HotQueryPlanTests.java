@@ -0,0 +1,131 @@
+package com.reservation.reservation_management_service.repository;
+
+import com.reservation.reservation_management_service.entity.Reservation;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on H2 in MySQL mode, validates the entities against the result and
+ * checks with EXPLAIN that the hot ReservationRepository queries are answered from an index.
+ * Each test calls the repository method and explains the SQL Hibernate actually sent, captured
+ * by a statement inspector, with the same parameters bound.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.reservation.reservation_management_service.repository.HotQueryPlanTests$CapturedSql"
+})
+class HotQueryPlanTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 15);
+    private static final LocalDateTime SINCE = LocalDateTime.of(2026, 3, 15, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationStallDayRepository stallDayRepository;
+
+    @BeforeEach
+    void clearCapturedSql() {
+        CapturedSql.statements.clear();
+    }
+
+    @Test
+    void userReservationsUseUserStatusIndex() {
+        reservationRepository.findResponsesByUserId(42L);
+        assertUsesIndex("idx_reservations_user_status", 42L);
+
+        reservationRepository.countActiveReservationsByUserId(42L);
+        assertUsesIndex("idx_reservations_user_status", 42L);
+
+        reservationRepository.findByUserIdAndStatus(42L, Reservation.ReservationStatus.CONFIRMED);
+        assertUsesIndex("idx_reservations_user_status", 42L, "CONFIRMED");
+    }
+
+    @Test
+    void stallConflictCheckStartsFromStallIndex() {
+        reservationRepository.findConflictingStallIds(List.of("A1", "A2"), DAY, DAY.plusDays(2));
+        assertUsesIndex("idx_reservation_stalls_stall", "A1", "A2", DAY.plusDays(2), DAY);
+
+        reservationRepository.findActiveStallRanges(List.of("A1", "A2"), DAY, DAY.plusDays(2));
+        assertUsesIndex("idx_reservation_stalls_stall", "A1", "A2", DAY.plusDays(2), DAY);
+    }
+
+    @Test
+    void qrCodeLookupUsesUniqueKey() {
+        reservationRepository.findByQrCode("BF2.abc.def");
+        assertUsesIndex("uk_reservations_qr_code", "BF2.abc.def");
+    }
+
+    @Test
+    void statusScansUseStatusIndexes() {
+        reservationRepository.findCancelledSince(SINCE);
+        assertUsesIndex("idx_reservations_status_cancelled_at", SINCE);
+
+        reservationRepository.findOldestCompletableEndDate(DAY);
+        assertUsesIndex("idx_reservations_status_end_date", DAY);
+
+        reservationRepository.findPendingHolds();
+        assertUsesIndex("idx_reservations_status_");
+    }
+
+    @Test
+    void gateDeltaSyncUsesUpdatedAtIndex() {
+        reservationRepository.findGatePassesChangedSince(DAY, SINCE);
+        assertUsesIndex("idx_reservations_updated_at", DAY, DAY, SINCE);
+    }
+
+    @Test
+    void stallDaysAreReleasedByReservationIndex() {
+        stallDayRepository.deleteByReservationIds(List.of(1L, 2L, 3L));
+        assertUsesIndex("idx_reservation_stall_days_reservation", 1L, 2L, 3L);
+    }
+
+    /**
+     * EXPLAIN the last statement Hibernate sent, with {@code parameters} bound in order
+     */
+    private void assertUsesIndex(String index, Object... parameters) {
+        assertFalse(CapturedSql.statements.isEmpty(), "No SQL was captured");
+        String sql = CapturedSql.statements.get(CapturedSql.statements.size() - 1);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters).toLowerCase();
+        assertFalse(plan.contains("tablescan"), () -> "Full scan in plan of " + sql + ":\n" + plan);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan of " + sql + ":\n" + plan);
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares, unchanged
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.exception.InvalidReservationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QRPassCodecTests {
+
+    private static final LocalDate START = LocalDate.of(2026, 3, 15);
+    private static final LocalDate END = LocalDate.of(2026, 3, 17);
+
+    private final QRPassCodec codec = new QRPassCodec(List.of("k1:first-secret"));
+
+    @Test
+    void signedPassVerifiesToItsReservation() {
+        String qrText = codec.sign(42L, 7L, List.of("A1", "B2"), START, END);
+
+        assertTrue(codec.isSigned(qrText));
+        assertEquals(42L, codec.verify(qrText));
+        assertEquals("k1|42|7|A1,B2|2026-03-15|2026-03-17", body(qrText));
+    }
+
+    @Test
+    void tamperedBodyIsRejected() {
+        String qrText = codec.sign(42L, 7L, List.of("A1"), START, END);
+        String otherBody = encode("k1|43|7|A1|2026-03-15|2026-03-17");
+
+        assertInvalid(QRPassCodec.PREFIX + otherBody + qrText.substring(qrText.lastIndexOf('.')));
+    }
+
+    @Test
+    void tamperedMacIsRejected() {
+        String qrText = codec.sign(42L, 7L, List.of("A1"), START, END);
+        byte[] mac = Base64.getUrlDecoder().decode(qrText.substring(qrText.lastIndexOf('.') + 1));
+        mac[0] ^= 1;
+
+        assertInvalid(qrText.substring(0, qrText.lastIndexOf('.') + 1)
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(mac));
+    }
+
+    @Test
+    void passSignedWithUnknownKeyIsRejected() {
+        String qrText = new QRPassCodec(List.of("k9:other-secret")).sign(42L, 7L, List.of("A1"), START, END);
+
+        assertInvalid(qrText);
+    }
+
+    @Test
+    void firstKeySignsAndAllKeysVerifyAfterRotation() {
+        String oldPass = codec.sign(42L, 7L, List.of("A1"), START, END);
+        QRPassCodec rotated = new QRPassCodec(List.of("k2:second-secret", "k1:first-secret"));
+
+        String newPass = rotated.sign(43L, 7L, List.of("A2"), START, END);
+
+        assertTrue(body(newPass).startsWith("k2|"));
+        assertEquals(42L, rotated.verify(oldPass));
+        assertEquals(43L, rotated.verify(newPass));
+        // Passes signed with the new key are unknown to instances not yet rotated
+        assertInvalid(newPass);
+    }
+
+    @Test
+    void malformedTextIsRejected() {
+        String qrText = codec.sign(42L, 7L, List.of("A1"), START, END);
+
+        assertFalse(codec.isSigned("QR-42"));
+        assertInvalid("QR-42");
+        assertInvalid("BF2.");
+        assertInvalid("BF2.%%%.AAAA");
+        assertInvalid(qrText.substring(0, qrText.lastIndexOf('.') + 1) + "not*base64");
+        assertInvalid(QRPassCodec.PREFIX + encode("k1|42|7") + qrText.substring(qrText.lastIndexOf('.')));
+    }
+
+    @Test
+    void keysMustBeConfiguredAsIdAndSecret() {
+        assertThrows(IllegalArgumentException.class, () -> new QRPassCodec(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new QRPassCodec(List.of("no-separator")));
+        assertThrows(IllegalArgumentException.class, () -> new QRPassCodec(List.of(":secret")));
+        assertThrows(IllegalArgumentException.class, () -> new QRPassCodec(List.of("k1:")));
+    }
+
+    private void assertInvalid(String qrText) {
+        assertThrows(InvalidReservationException.class, () -> codec.verify(qrText));
+    }
+
+    private static String body(String qrText) {
+        String encoded = qrText.substring(QRPassCodec.PREFIX.length(), qrText.lastIndexOf('.'));
+        return new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String body) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.repository.ReservationIdSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationIdGeneratorTests {
+
+    @Test
+    void firstIdAfterStartupComesFromAnAllocatedBlock() {
+        ReservationIdSequenceRepository sequenceRepository = mock(ReservationIdSequenceRepository.class);
+        // Sequence already at 120 from before the restart: the next block is 121..130
+        when(sequenceRepository.lastInsertId()).thenReturn(130L, 140L);
+        ReservationIdGenerator generator = new ReservationIdGenerator(
+                sequenceRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(generator, "blockSize", 10);
+
+        assertEquals(121, generator.nextId());
+        verify(sequenceRepository).initialize("reservations");
+        verify(sequenceRepository).advance("reservations", 10);
+
+        for (long expected = 122; expected <= 130; expected++) {
+            assertEquals(expected, generator.nextId());
+        }
+        assertEquals(131, generator.nextId());
+        verify(sequenceRepository, times(2)).advance("reservations", 10);
+        verify(sequenceRepository, times(1)).initialize("reservations");
+    }
+
+    @Test
+    void nextBlockIsAllocatedOffTheCallerThreadBeforeTheCurrentOneRunsOut() {
+        ReservationIdSequenceRepository sequenceRepository = mock(ReservationIdSequenceRepository.class);
+        List<String> allocatingThreads = new CopyOnWriteArrayList<>();
+        when(sequenceRepository.advance("reservations", 10)).thenAnswer(invocation -> {
+            allocatingThreads.add(Thread.currentThread().getName());
+            return 1;
+        });
+        when(sequenceRepository.lastInsertId()).thenReturn(10L, 20L);
+        ReservationIdGenerator generator = new ReservationIdGenerator(
+                sequenceRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(generator, "blockSize", 10);
+
+        for (long expected = 1; expected <= 6; expected++) {
+            assertEquals(expected, generator.nextId());
+        }
+        // Half the block is used, so the next one is on its way while IDs 7..10 are still left
+        verify(sequenceRepository, timeout(5000).times(2)).advance("reservations", 10);
+        assertEquals(List.of("reservation-id-allocator", "reservation-id-allocator"), allocatingThreads);
+    }
+}
@@ -0,0 +1,131 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.dto.ReservationResponseDTO;
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(ReservationResponseAssembler.class)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReservationResponseAssemblerTests {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationResponseAssembler responseAssembler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void listingQueryCountDoesNotGrowWithRows() {
+        saveReservations(1L, 2, 0);
+        saveReservations(2L, 25, 100);
+
+        long fewRowsQueries = countQueries(() -> responseAssembler.findByUserId(1L));
+        long manyRowsQueries = countQueries(() -> responseAssembler.findByUserId(2L));
+        assertEquals(fewRowsQueries, manyRowsQueries);
+
+        List<ReservationResponseDTO> reservations = responseAssembler.findByUserId(2L);
+        assertEquals(25, reservations.size());
+        reservations.forEach(reservation -> {
+            assertEquals(2, reservation.getStallIds().size());
+            assertEquals(List.of("Fiction"), reservation.getGenres());
+        });
+    }
+
+    @Test
+    void entityListingQueryCountDoesNotGrowWithRows() {
+        saveReservations(1L, 2, 0);
+        saveReservations(2L, 25, 100);
+
+        long fewRowsQueries = countQueries(() -> mapWithCollections(reservationRepository.findByUserId(1L)));
+        long manyRowsQueries = countQueries(() -> mapWithCollections(reservationRepository.findByUserId(2L)));
+        assertEquals(fewRowsQueries, manyRowsQueries);
+    }
+
+    @Test
+    void streamingLoadsCollectionsPerChunk() throws Exception {
+        saveReservations(1L, 25, 0);
+        List<ReservationResponseDTO> streamed = new ArrayList<>();
+
+        long queries = countQueries(() -> {
+            try {
+                responseAssembler.streamAllOrderByCreatedDesc(10, streamed::addAll);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // The cursor plus two collection queries for each of the three chunks
+        assertEquals(7, queries);
+        assertEquals(25, streamed.size());
+        streamed.forEach(reservation -> {
+            assertEquals(List.of("A" + reservation.getId(), "B" + reservation.getId()),
+                    reservation.getStallIds().stream().sorted().toList());
+            assertEquals(List.of("Fiction"), reservation.getGenres());
+        });
+    }
+
+    private void mapWithCollections(List<Reservation> reservations) {
+        reservations.stream()
+                .map(ReservationResponseDTO::fromEntity)
+                .forEach(reservation -> {
+                    reservation.getStallIds().size();
+                    reservation.getGenres().size();
+                });
+    }
+
+    private void saveReservations(Long userId, int count, long firstId) {
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i + 1;
+            reservationRepository.save(Reservation.builder()
+                    .id(id)
+                    .userId(userId)
+                    .userEmail("user" + userId + "@example.com")
+                    .stallIds(List.of("A" + id, "B" + id))
+                    .genres(List.of("Fiction"))
+                    .startDate(LocalDate.of(2026, 3, 15))
+                    .endDate(LocalDate.of(2026, 3, 16))
+                    .status(Reservation.ReservationStatus.CONFIRMED)
+                    .paymentStatus(Reservation.PaymentStatus.PENDING)
+                    .totalPrice(BigDecimal.TEN)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countQueries(Runnable action) {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,61 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.repository.ReservationStallDayRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ReservationStallDaysTests {
+
+    private static final LocalDate MARCH_15 = LocalDate.of(2026, 3, 15);
+
+    @Autowired
+    private ReservationStallDayRepository stallDayRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void rejectsOverlappingBookingOfTheSameStall() {
+        hold(1L, List.of("A1", "A2"), MARCH_15, MARCH_15.plusDays(2));
+        assertEquals(6, stallDayRepository.count());
+
+        // Other stalls and other days of the same stall are free
+        hold(2L, List.of("B1"), MARCH_15, MARCH_15.plusDays(2));
+        hold(3L, List.of("A1"), MARCH_15.plusDays(3), MARCH_15.plusDays(4));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> hold(4L, List.of("C1", "A2"), MARCH_15.plusDays(2), MARCH_15.plusDays(5)));
+    }
+
+    @Test
+    void cancellingFreesTheDays() {
+        hold(1L, List.of("A1"), MARCH_15, MARCH_15.plusDays(1));
+
+        assertEquals(2, stallDayRepository.deleteByReservationIds(List.of(1L)));
+        entityManager.clear();
+
+        hold(2L, List.of("A1"), MARCH_15, MARCH_15.plusDays(1));
+        assertEquals(2, stallDayRepository.count());
+    }
+
+    private void hold(Long reservationId, List<String> stallIds, LocalDate startDate, LocalDate endDate) {
+        stallDayRepository.saveAllAndFlush(ReservationService.stallDays(reservationId, stallIds, startDate, endDate));
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,58 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.entity.Reservation;
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StallAvailabilityIndexTests {
+
+    private static final LocalDate MARCH_15 = LocalDate.of(2026, 3, 15);
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final StallAvailabilityIndex index = new StallAvailabilityIndex(reservationRepository);
+
+    @Test
+    void changesDuringLoadAreKeptAfterTheSwap() {
+        Reservation cancelled = reservation(1L, "A1");
+        Reservation created = reservation(2L, "B1");
+        index.add(reservation(3L, "C1"));
+
+        when(reservationRepository.findActiveStallDateRanges()).thenAnswer(invocation -> {
+            // Committed while the query runs: the snapshot still has the cancelled one and lacks the new one
+            index.remove(cancelled);
+            index.add(created);
+            // Requests keep reading the previous contents meanwhile
+            assertTrue(index.isReserved("C1", MARCH_15, MARCH_15));
+            return List.<Object[]>of(
+                    new Object[]{1L, "A1", MARCH_15, MARCH_15.plusDays(2)},
+                    new Object[]{3L, "C1", MARCH_15, MARCH_15.plusDays(2)});
+        });
+        index.load();
+
+        assertTrue(index.isReady());
+        assertFalse(index.isReserved("A1", MARCH_15, MARCH_15));
+        assertTrue(index.isReserved("B1", MARCH_15, MARCH_15));
+        assertTrue(index.isReserved("C1", MARCH_15.plusDays(1), MARCH_15.plusDays(1)));
+
+        // A change the load already saw can still be undone
+        index.remove(created);
+        assertFalse(index.isReserved("B1", MARCH_15, MARCH_15));
+    }
+
+    private static Reservation reservation(Long id, String stallId) {
+        return Reservation.builder()
+                .id(id)
+                .stallIds(List.of(stallId))
+                .startDate(MARCH_15)
+                .endDate(MARCH_15.plusDays(2))
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.reservation.reservation_management_service.service;
+
+import com.reservation.reservation_management_service.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StallOccupancyTableTests {
+
+    private static final LocalDate MARCH_15 = LocalDate.of(2026, 3, 15);
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final StallOccupancyTable table = new StallOccupancyTable(reservationRepository);
+
+    @BeforeEach
+    void setEventDates() {
+        ReflectionTestUtils.setField(table, "eventStartDate", MARCH_15);
+        ReflectionTestUtils.setField(table, "eventEndDate", MARCH_15.plusDays(4));
+    }
+
+    @Test
+    void claimsAndReleasesDuringLoadAreKeptAfterTheSwap() {
+        table.claim(List.of("A1"), MARCH_15, MARCH_15);
+        table.claim(List.of("C1"), MARCH_15, MARCH_15);
+
+        when(reservationRepository.findActiveStallDateRanges()).thenAnswer(invocation -> {
+            // Requests keep seeing the current table while the query runs
+            assertEquals(List.of("C1"), table.claim(List.of("C1"), MARCH_15, MARCH_15));
+            // Committed while the query runs: the snapshot still has A1 and lacks B1
+            table.release(List.of("A1"), MARCH_15, MARCH_15);
+            assertEquals(List.of(), table.claim(List.of("B1"), MARCH_15, MARCH_15));
+            return List.<Object[]>of(
+                    new Object[]{1L, "A1", MARCH_15, MARCH_15},
+                    new Object[]{3L, "C1", MARCH_15, MARCH_15});
+        });
+        table.load();
+
+        assertEquals(List.of(), table.claim(List.of("A1"), MARCH_15, MARCH_15));
+        assertEquals(List.of("B1"), table.claim(List.of("B1"), MARCH_15, MARCH_15));
+        assertEquals(List.of("C1"), table.claim(List.of("C1"), MARCH_15, MARCH_15));
+        assertEquals(List.of(), table.claim(List.of("C1"), MARCH_15.plusDays(1), MARCH_15.plusDays(1)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.reservation.reservation_management_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTests {
+
+    @Test
+    void firesEachTimerOnceAtItsDeadline() {
+        long start = 1_000_000;
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 8, start);
+        Random random = new Random(42);
+
+        // Deadlines spread over several levels (level 0 covers 80 ms, level 3 over 40 s)
+        Map<Integer, Long> deadlines = new HashMap<>();
+        List<TimingWheel.Timer<Integer>> timers = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long deadline = start + random.nextInt(100_000);
+            deadlines.put(i, deadline);
+            timers.add(wheel.schedule(i, deadline));
+        }
+        Set<Integer> cancelled = new HashSet<>();
+        for (int i = 0; i < 5000; i += 7) {
+            assertTrue(wheel.cancel(timers.get(i)));
+            assertFalse(wheel.cancel(timers.get(i)));
+            cancelled.add(i);
+        }
+        assertEquals(5000 - cancelled.size(), wheel.size());
+
+        Set<Integer> fired = new HashSet<>();
+        long now = start;
+        while (now < start + 101_000) {
+            now += 1 + random.nextInt(500);
+            for (Integer id : wheel.advance(now)) {
+                assertTrue(fired.add(id), "fired twice: " + id);
+                long deadline = deadlines.get(id);
+                assertTrue(deadline <= now, "fired early: " + id);
+                // Rounded up to a 10 ms tick, and seen on the first advance after that tick
+                assertTrue(deadline > now - 510, "fired late: " + id);
+            }
+        }
+
+        assertEquals(5000 - cancelled.size(), fired.size());
+        fired.retainAll(cancelled);
+        assertTrue(fired.isEmpty(), "cancelled timers fired");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesOverdueTimersOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 64, 10_000);
+
+        wheel.schedule("overdue", 5_000);
+
+        assertEquals(List.of(), wheel.advance(10_500));
+        assertEquals(List.of("overdue"), wheel.advance(11_000));
+    }
+}
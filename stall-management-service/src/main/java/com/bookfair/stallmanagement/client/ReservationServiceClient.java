@@ -1,6 +1,9 @@
 package com.bookfair.stallmanagement.client;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -8,6 +11,7 @@ import org.springframework.web.client.RestTemplate;
  * Service client for inter-service communication with Reservation Management Service
  */
 @Service
+@Slf4j
 public class ReservationServiceClient {
 
     private final RestTemplate restTemplate;
@@ -15,6 +19,10 @@ public class ReservationServiceClient {
     @Value("${services.reservation.url:http://reservation-management-service:8083}")
     private String reservationServiceUrl;
 
+    // Shared key for the reservation service's /internal endpoints
+    @Value("${services.reservation.internal-key}")
+    private String internalKey;
+
     public ReservationServiceClient(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
@@ -44,4 +52,19 @@ public class ReservationServiceClient {
             throw new RuntimeException("Failed to check stall reservation status: " + e.getMessage());
         }
     }
+
+    /**
+     * Tell the reservation service that a stall changed so it drops its cached copy.
+     * Failures are only logged: the reservation service cache also expires on its own.
+     */
+    public void notifyStallChanged(String stallId) {
+        try {
+            String url = reservationServiceUrl + "/api/reservations/internal/stalls/" + stallId + "/invalidate";
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Internal-Key", internalKey);
+            restTemplate.postForLocation(url, new HttpEntity<>(headers));
+        } catch (Exception e) {
+            log.warn("Failed to notify reservation service about stall change {}: {}", stallId, e.getMessage());
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.bookfair.stallmanagement.controller;
 
 import com.bookfair.stallmanagement.dto.AvailabilityResponse;
+import com.bookfair.stallmanagement.dto.StallPriceResponse;
 import com.bookfair.stallmanagement.dto.StallRequest;
 import com.bookfair.stallmanagement.dto.StallResponse;
 import com.bookfair.stallmanagement.dto.StallStatusRequest;
@@ -35,6 +36,12 @@ public class StallController {
         return ResponseEntity.ok(stallService.getAllStalls());
     }
     
+    // GET PRICES FOR MULTIPLE IDS
+    @GetMapping("/prices")
+    public ResponseEntity<List<StallPriceResponse>> getStallPrices(@RequestParam List<String> ids) {
+        return ResponseEntity.ok(stallService.getStallPrices(ids));
+    }
+    
     // GET BY ID
     @GetMapping("/{id}")
     public ResponseEntity<StallResponse> getStallById(@PathVariable String id) {
@@ -0,0 +1,29 @@
+package com.bookfair.stallmanagement.dto;
+
+import com.bookfair.stallmanagement.model.Stall;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StallPriceResponse {
+    
+    private String id;
+    
+    private String stallCode;
+    
+    private BigDecimal pricePerDay;
+    
+    public static StallPriceResponse fromEntity(Stall stall) {
+        return StallPriceResponse.builder()
+                .id(stall.getId())
+                .stallCode(stall.getStallCode())
+                .pricePerDay(stall.getPricePerDay())
+                .build();
+    }
+}
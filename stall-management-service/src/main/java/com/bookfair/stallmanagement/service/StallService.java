@@ -1,7 +1,9 @@
 package com.bookfair.stallmanagement.service;
 
+import com.bookfair.stallmanagement.client.ReservationServiceClient;
 import com.bookfair.stallmanagement.dto.AvailabilityResponse;
 import com.bookfair.stallmanagement.dto.StallRequest;
+import com.bookfair.stallmanagement.dto.StallPriceResponse;
 import com.bookfair.stallmanagement.dto.StallResponse;
 import com.bookfair.stallmanagement.model.Stall;
 import com.bookfair.stallmanagement.model.Stall.StallSize;
@@ -18,6 +20,7 @@ import java.util.stream.Collectors;
 public class StallService {
     
     private final StallRepository stallRepository;
+    private final ReservationServiceClient reservationServiceClient;
     
     // CREATE
     public StallResponse createStall(StallRequest request) {
@@ -44,6 +47,13 @@ public class StallService {
         return StallResponse.fromEntity(stall);
     }
     
+    // READ - PRICES FOR MULTIPLE IDS (stalls that do not exist are left out)
+    public List<StallPriceResponse> getStallPrices(List<String> ids) {
+        return stallRepository.findAllById(ids).stream()
+                .map(StallPriceResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+    
     // READ - GET BY CODE
     public StallResponse getStallByCode(String stallCode) {
         Stall stall = stallRepository.findByStallCode(stallCode)
@@ -111,6 +121,7 @@ public class StallService {
         if (request.getDescription() != null) stall.setDescription(request.getDescription());
         
         Stall updated = stallRepository.save(stall);
+        reservationServiceClient.notifyStallChanged(updated.getId());
         return StallResponse.fromEntity(updated);
     }
     
@@ -138,6 +149,7 @@ public class StallService {
             throw new RuntimeException("Stall not found with id: " + id);
         }
         stallRepository.deleteById(id);
+        reservationServiceClient.notifyStallChanged(id);
     }
     
     // CHECK AVAILABILITY BY CODE